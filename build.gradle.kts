@@ -24,17 +24,69 @@ repositories {
 	mavenCentral()
 }
 
+val jmh by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+
+val loadTest by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+	runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations {
+	for (sourceSet in listOf(jmh, loadTest)) {
+		named(sourceSet.implementationConfigurationName) {
+			extendsFrom(configurations.implementation.get())
+		}
+		named(sourceSet.runtimeOnlyConfigurationName) {
+			extendsFrom(configurations.runtimeOnly.get())
+		}
+	}
+}
+
 dependencies {
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-web")
+	implementation("com.github.ben-manes.caffeine:caffeine")
 	compileOnly("org.projectlombok:lombok")
 	annotationProcessor("org.projectlombok:lombok")
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testImplementation("org.mockito:mockito-core")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 	runtimeOnly("com.h2database:h2")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+	"jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+	"jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+	"loadTestImplementation"("org.hdrhistogram:HdrHistogram:2.2.2")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+tasks.register<JavaExec>("jmh") {
+	description = "Runs the JMH benchmarks. -Pjmh.includes=<regex> selects benchmarks, -Pjmh.results=<file> sets the JSON report."
+	group = "verification"
+	classpath = jmh.runtimeClasspath
+	mainClass = "org.openjdk.jmh.Main"
+
+	val includes = providers.gradleProperty("jmh.includes").orElse(".*")
+	val results = providers.gradleProperty("jmh.results")
+		.map { file(it) }
+		.orElse(layout.buildDirectory.file("reports/jmh/results.json").map { it.asFile })
+	argumentProviders.add(CommandLineArgumentProvider {
+		listOf(includes.get(), "-rf", "json", "-rff", results.get().absolutePath)
+	})
+	doFirst {
+		results.get().parentFile.mkdirs()
+	}
+}
+
+tasks.register<JavaExec>("loadTest") {
+	description = "Runs the load generator against an in-process instance. Settings are passed with --args, e.g. --args='--loadtest.rate=500'."
+	group = "verification"
+	classpath = loadTest.runtimeClasspath
+	mainClass = "com.example.global_payment_service.loadtest.LoadTest"
+}
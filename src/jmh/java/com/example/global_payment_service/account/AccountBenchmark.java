@@ -0,0 +1,70 @@
+package com.example.global_payment_service.account;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing and equality of {@link Account}, directly and as keys of a hash-based collection holding {@code size}
+ * accounts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountBenchmark {
+
+    @Param({"10", "1000"})
+    public int size;
+
+    private Account account;
+    private Account sameAccount;
+    private Account otherAccount;
+    private Set<Account> accounts;
+
+    @Setup
+    public void createAccounts() {
+        var id = UUID.randomUUID();
+        account = account(id);
+        sameAccount = account(id);
+        otherAccount = account(UUID.randomUUID());
+
+        accounts = new HashSet<>();
+        for (int i = 0; i < size - 1; i++) {
+            accounts.add(account(UUID.randomUUID()));
+        }
+        accounts.add(account);
+    }
+
+    @Benchmark
+    public int hash() {
+        return account.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsSame() {
+        return account.equals(sameAccount);
+    }
+
+    @Benchmark
+    public boolean equalsOther() {
+        return account.equals(otherAccount);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return accounts.contains(sameAccount);
+    }
+
+    private static Account account(UUID id) {
+        var account = new Account(BigDecimal.TEN, Currency.EUR);
+        account.setId(id);
+        return account;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.global_payment_service.account;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Balance arithmetic on {@link Money}, next to the equivalent {@link BigDecimal} operations as a baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private Money balance = Money.of(new BigDecimal("1234567.89"), Currency.EUR);
+    private Money amount = Money.of(new BigDecimal("42.10"), Currency.EUR);
+    private BigDecimal decimalBalance = new BigDecimal("1234567.89");
+    private BigDecimal decimalAmount = new BigDecimal("42.10");
+    private BigDecimal rate = new BigDecimal("379.0800000000");
+
+    @Benchmark
+    public Money plus() {
+        return balance.plus(amount);
+    }
+
+    @Benchmark
+    public Money minus() {
+        return balance.minus(amount);
+    }
+
+    @Benchmark
+    public int compare() {
+        return balance.compareTo(amount);
+    }
+
+    @Benchmark
+    public Money convert() {
+        return amount.convert(Currency.HUF, rate, RoundingMode.HALF_EVEN);
+    }
+
+    @Benchmark
+    public BigDecimal decimalPlus() {
+        return decimalBalance.add(decimalAmount);
+    }
+
+    @Benchmark
+    public BigDecimal decimalMinus() {
+        return decimalBalance.subtract(decimalAmount);
+    }
+
+    @Benchmark
+    public int decimalCompare() {
+        return decimalBalance.compareTo(decimalAmount);
+    }
+
+    @Benchmark
+    public BigDecimal decimalConvert() {
+        return decimalAmount.multiply(rate).setScale(2, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.global_payment_service.persistence;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Batched inserts into an H2 table keyed by random (version 4) or time-ordered (version 7) UUIDs, on top of
+ * {@code preloaded} existing rows. Random keys land on arbitrary pages of the primary key index, time-ordered ones are
+ * appended to its right edge. Throughput is reported per inserted row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public enum KeyType {
+        RANDOM, TIME_ORDERED;
+
+        UUID next() {
+            return this == RANDOM ? UUID.randomUUID() : TimeOrderedUuids.next();
+        }
+    }
+
+    @Param({"RANDOM", "TIME_ORDERED"})
+    public KeyType keyType;
+
+    @Param({"0", "1000000"})
+    public int preloaded;
+
+    private Connection connection;
+    private long payload;
+
+    @Setup(Level.Trial)
+    public void createTable() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:uuid-insert-" + keyType + "-" + preloaded);
+        connection.setAutoCommit(false);
+        try (var statement = connection.createStatement()) {
+            statement.execute("create table entry (id uuid primary key, payload bigint not null)");
+        }
+        for (int i = 0; i < preloaded; i += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void dropTable() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insert() throws SQLException {
+        insertBatch();
+    }
+
+    private void insertBatch() throws SQLException {
+        try (var statement = connection.prepareStatement("insert into entry (id, payload) values (?, ?)")) {
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                statement.setObject(1, keyType.next());
+                statement.setLong(2, payload++);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        connection.commit();
+    }
+}
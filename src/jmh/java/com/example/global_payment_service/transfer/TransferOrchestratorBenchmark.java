@@ -0,0 +1,150 @@
+package com.example.global_payment_service.transfer;
+
+import com.example.global_payment_service.GlobalPaymentServiceApplication;
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.transfer.api.TransferRequestDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives {@link TransferOrchestratorService} end to end against the embedded H2 database, with the exchange rate API
+ * answering instantly and never failing.
+ * <ul>
+ *     <li>{@code SINGLE_KEY}: every request reuses one idempotency key, so all but the first are replays.</li>
+ *     <li>{@code DISTINCT_KEYS}: every request has a new key and moves money between two random accounts.</li>
+ *     <li>{@code HOT_ACCOUNT}: every request has a new key and debits the same account.</li>
+ * </ul>
+ * Besides the throughput, the outcomes of the requests are reported as secondary results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+public class TransferOrchestratorBenchmark {
+
+    private static final int ACCOUNTS = 1000;
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal(1_000_000_000);
+
+    public enum Profile {
+        SINGLE_KEY, DISTINCT_KEYS, HOT_ACCOUNT
+    }
+
+    @Param({"SINGLE_KEY", "DISTINCT_KEYS", "HOT_ACCOUNT"})
+    public Profile profile;
+
+    @Param({"jpa", "sharded"})
+    public String engine;
+
+    private ConfigurableApplicationContext context;
+    private TransferOrchestratorService orchestrator;
+    private List<UUID> accountIds;
+    private UUID singleKey;
+    private TransferRequestDto singleKeyRequest;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = new SpringApplicationBuilder(GlobalPaymentServiceApplication.class)
+                .logStartupInfo(false)
+                .properties(
+                        "server.port=0",
+                        "transfer.engine=" + engine,
+                        "exchange.mock.latency=0ms",
+                        "exchange.mock.failure-rate=0",
+                        "logging.level.root=WARN"
+                )
+                .run();
+        orchestrator = context.getBean(TransferOrchestratorService.class);
+
+        var accounts = new ArrayList<Account>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(new Account(INITIAL_BALANCE, Currency.EUR));
+        }
+        accountIds = context.getBean(AccountRepository.class).saveAll(accounts).stream().map(Account::getId).toList();
+
+        singleKey = UUID.randomUUID();
+        singleKeyRequest = request(accountIds.get(0), accountIds.get(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long completed;
+        public long replayed;
+        public long processing;
+        public long rejected;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            completed = 0;
+            replayed = 0;
+            processing = 0;
+            rejected = 0;
+            failed = 0;
+        }
+    }
+
+    @Benchmark
+    public TransferStatus transfer(Outcomes outcomes) {
+        TransferStatus status;
+        try {
+            status = switch (profile) {
+                case SINGLE_KEY -> orchestrator.handleTransferRequest(singleKey, singleKeyRequest);
+                case DISTINCT_KEYS -> {
+                    var from = randomAccount();
+                    var to = randomAccountOtherThan(from);
+                    yield orchestrator.handleTransferRequest(UUID.randomUUID(), request(from, to));
+                }
+                case HOT_ACCOUNT -> {
+                    var hot = accountIds.getFirst();
+                    yield orchestrator.handleTransferRequest(UUID.randomUUID(), request(hot, randomAccountOtherThan(hot)));
+                }
+            };
+        } catch (RuntimeException e) {
+            status = TransferStatus.FAILED;
+        }
+
+        switch (status) {
+            case COMPLETED -> {
+                if (profile == Profile.SINGLE_KEY) outcomes.replayed++;
+                else outcomes.completed++;
+            }
+            case PROCESSING -> outcomes.processing++;
+            case BAD_REQUEST -> outcomes.rejected++;
+            case FAILED -> outcomes.failed++;
+        }
+        return status;
+    }
+
+    private UUID randomAccount() {
+        return accountIds.get(ThreadLocalRandom.current().nextInt(ACCOUNTS));
+    }
+
+    private UUID randomAccountOtherThan(UUID account) {
+        var other = randomAccount();
+        while (other.equals(account)) other = randomAccount();
+        return other;
+    }
+
+    private static TransferRequestDto request(UUID from, UUID to) {
+        return new TransferRequestDto(from, to, BigDecimal.ONE, Currency.EUR);
+    }
+}
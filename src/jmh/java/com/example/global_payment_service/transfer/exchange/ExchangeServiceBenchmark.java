@@ -0,0 +1,51 @@
+package com.example.global_payment_service.transfer.exchange;
+
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ExchangeService#exchangeTo} against a zero-latency {@link com.example.global_payment_service.transfer.exchange.client.ExchangeRateClient},
+ * so only the conversion itself is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExchangeServiceBenchmark {
+
+    private BigDecimal rate = new BigDecimal("379.0800000000");
+    private Money eur = Money.of(new BigDecimal("1234.56"), Currency.EUR);
+    private Money huf = Money.of(new BigDecimal("1234.56"), Currency.HUF);
+    private BigDecimal inverseRate = BigDecimal.ONE.divide(rate, 10, RoundingMode.HALF_EVEN);
+    private ExchangeService exchangeService;
+
+    @Setup
+    public void createService() {
+        exchangeService = new ExchangeService((from, to) -> {
+            if (from == to) return BigDecimal.ONE;
+            return from == Currency.EUR ? rate : inverseRate;
+        });
+    }
+
+    @Benchmark
+    public Money eurToHuf() {
+        return exchangeService.exchangeTo(eur, Currency.HUF, ExchangeService.CREDIT_ROUNDING);
+    }
+
+    @Benchmark
+    public Money hufToEur() {
+        return exchangeService.exchangeTo(huf, Currency.EUR, ExchangeService.DEBIT_ROUNDING);
+    }
+
+    @Benchmark
+    public Money sameCurrency() {
+        return exchangeService.exchangeTo(eur, Currency.EUR, ExchangeService.DEBIT_ROUNDING);
+    }
+}
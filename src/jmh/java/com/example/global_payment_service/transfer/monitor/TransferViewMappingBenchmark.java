@@ -0,0 +1,45 @@
+package com.example.global_payment_service.transfer.monitor;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.Transfer;
+import com.example.global_payment_service.transfer.monitor.api.TransferViewDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of a {@link Transfer} entity to its {@link TransferViewDto} in {@link SuccessfulTransferMonitorService}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferViewMappingBenchmark {
+
+    private SuccessfulTransferMonitorService monitorService;
+    private Transfer transfer;
+
+    @Setup
+    public void createTransfer() {
+        monitorService = new SuccessfulTransferMonitorService(null, null);
+
+        var sender = new Account(BigDecimal.TEN, Currency.EUR);
+        sender.setId(UUID.randomUUID());
+        var recipient = new Account(BigDecimal.ONE, Currency.HUF);
+        recipient.setId(UUID.randomUUID());
+        transfer = new Transfer(UUID.randomUUID(), sender, recipient, Money.of(new BigDecimal("12.34"), Currency.EUR));
+        transfer.setCreatedAt(Instant.now());
+    }
+
+    @Benchmark
+    public TransferViewDto toDto() {
+        return monitorService.toDto(transfer);
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.global_payment_service.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends transfer requests for the warm-up and then the measured duration. In the open loop, the latency of a request is
+ * measured from the moment it was scheduled to be sent, so a slow server can't hide its latency by delaying the
+ * requests that would have observed it.
+ */
+final class LoadGenerator {
+
+    private final HttpClient client;
+    private final URI uri;
+    private final TransferRequests requests;
+    private final LoadTestProperties properties;
+    private final LoadTestReport report;
+
+    LoadGenerator(HttpClient client, URI uri, TransferRequests requests, LoadTestProperties properties, LoadTestReport report) {
+        this.client = client;
+        this.uri = uri;
+        this.requests = requests;
+        this.properties = properties;
+        this.report = report;
+    }
+
+    void run() {
+        long start = System.nanoTime();
+        long measureFrom = start + properties.warmup().toNanos();
+        long end = measureFrom + properties.duration().toNanos();
+        switch (properties.mode()) {
+            case OPEN -> runOpenLoop(start, measureFrom, end);
+            case CLOSED -> runClosedLoop(measureFrom, end);
+        }
+    }
+
+    private void runOpenLoop(long start, long measureFrom, long end) {
+        var inFlight = new Semaphore(properties.maxInFlight());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; ; i++) {
+                long scheduled = start + i * 1_000_000_000L / properties.rate();
+                if (scheduled >= end) break;
+                parkUntil(scheduled);
+
+                boolean measured = scheduled >= measureFrom;
+                if (!inFlight.tryAcquire()) {
+                    if (measured) report.skipped();
+                    continue;
+                }
+                executor.execute(() -> {
+                    try {
+                        send(scheduled, measured);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private void runClosedLoop(long measureFrom, long end) {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < properties.concurrency(); i++) {
+                executor.execute(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        send(now, now >= measureFrom);
+                    }
+                });
+            }
+        }
+    }
+
+    private void send(long scheduled, boolean measured) {
+        var request = requests.next();
+        var httpRequest = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .header("X-Idempotency-Key", request.idempotencyKey().toString())
+                .POST(HttpRequest.BodyPublishers.ofString(request.body()))
+                .build();
+
+        Outcome outcome;
+        try {
+            outcome = Outcome.of(client.send(httpRequest, HttpResponse.BodyHandlers.discarding()).statusCode());
+        } catch (IOException e) {
+            outcome = Outcome.ERROR;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (measured) report.record(outcome, System.nanoTime() - scheduled);
+    }
+
+    private static void parkUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
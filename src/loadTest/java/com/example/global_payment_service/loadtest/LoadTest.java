@@ -0,0 +1,71 @@
+package com.example.global_payment_service.loadtest;
+
+import com.example.global_payment_service.GlobalPaymentServiceApplication;
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * Starts the service on a random port, seeds {@code loadtest.accounts} accounts spread over all currencies and fires
+ * transfers at {@code POST /api/transfers}. Every argument is passed on to the application as well, so
+ * {@code --exchange.mock.failure-rate=0.3} or {@code --transfer.engine=sharded} shape the service under test.
+ */
+public final class LoadTest {
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal(1_000_000_000);
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        var application = new SpringApplicationBuilder(GlobalPaymentServiceApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .logStartupInfo(false);
+
+        try (var context = application.run(args)) {
+            var properties = Binder.get(context.getEnvironment()).bindOrCreate("loadtest", LoadTestProperties.class);
+            var accountIds = seedAccounts(context.getBean(AccountRepository.class), properties.accounts());
+            var requests = new TransferRequests(accountIds, properties.zipfExponent(), properties.duplicateRate(), context.getBean(ObjectMapper.class));
+
+            var port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            var uri = URI.create("http://localhost:" + port + "/api/transfers");
+            var report = new LoadTestReport();
+            try (var client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build()) {
+                new LoadGenerator(client, uri, requests, properties, report).run();
+            }
+
+            report.print(System.out, properties);
+            if (properties.histogramFile() != null) report.writeHistogram(properties.histogramFile());
+        }
+    }
+
+    private static List<UUID> seedAccounts(AccountRepository accountRepository, int count) {
+        var currencies = Currency.values();
+        var ids = new ArrayList<UUID>(count);
+        for (int offset = 0; offset < count; offset += SEED_BATCH_SIZE) {
+            var batch = new ArrayList<Account>();
+            for (int i = offset; i < Math.min(count, offset + SEED_BATCH_SIZE); i++) {
+                batch.add(new Account(INITIAL_BALANCE, currencies[i % currencies.length]));
+            }
+            accountRepository.saveAll(batch).forEach(account -> ids.add(account.getId()));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.global_payment_service.loadtest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.lang.Nullable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param mode          {@code OPEN} sends requests at {@code rate} regardless of how fast they are answered, {@code CLOSED}
+ *                      keeps {@code concurrency} requests in flight
+ * @param maxInFlight   requests the open loop may have in flight before it skips (and counts) further ones
+ * @param duplicateRate fraction of requests that resend a recent request with the same idempotency key
+ * @param zipfExponent  skew of the sender accounts, 0 picks them uniformly
+ * @param histogramFile where to write the full latency distribution, if set
+ */
+@ConfigurationProperties(prefix = "loadtest")
+public record LoadTestProperties(
+        @DefaultValue("OPEN") Mode mode,
+        @DefaultValue("1000") int accounts,
+        @DefaultValue("200") int rate,
+        @DefaultValue("64") int concurrency,
+        @DefaultValue("10000") int maxInFlight,
+        @DefaultValue("10s") Duration warmup,
+        @DefaultValue("60s") Duration duration,
+        @DefaultValue("0.05") double duplicateRate,
+        @DefaultValue("1.0") double zipfExponent,
+        @Nullable Path histogramFile
+) {
+    public enum Mode {
+        OPEN, CLOSED
+    }
+
+    public LoadTestProperties {
+        if (accounts < 2) throw new IllegalArgumentException("loadtest.accounts must be at least 2");
+        if (rate < 1) throw new IllegalArgumentException("loadtest.rate must be positive");
+        if (concurrency < 1) throw new IllegalArgumentException("loadtest.concurrency must be positive");
+        if (maxInFlight < 1) throw new IllegalArgumentException("loadtest.max-in-flight must be positive");
+        if (duplicateRate < 0 || duplicateRate > 1) {
+            throw new IllegalArgumentException("loadtest.duplicate-rate must be between 0 and 1");
+        }
+        if (zipfExponent < 0) throw new IllegalArgumentException("loadtest.zipf-exponent must not be negative");
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.global_payment_service.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms in microseconds, per {@link Outcome} and overall.
+ */
+final class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<Outcome, Histogram> histograms = new EnumMap<>(Outcome.class);
+    private final Histogram all = new ConcurrentHistogram(3);
+    private final LongAdder skipped = new LongAdder();
+
+    LoadTestReport() {
+        for (var outcome : Outcome.values()) {
+            histograms.put(outcome, new ConcurrentHistogram(3));
+        }
+    }
+
+    void record(Outcome outcome, long latencyNanos) {
+        long micros = Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        histograms.get(outcome).recordValue(micros);
+        all.recordValue(micros);
+    }
+
+    void skipped() {
+        skipped.increment();
+    }
+
+    void print(PrintStream out, LoadTestProperties properties) {
+        out.println();
+        if (properties.mode() == LoadTestProperties.Mode.OPEN) {
+            out.printf("Open loop at %d requests/s", properties.rate());
+        } else {
+            out.printf("Closed loop with %d concurrent requests", properties.concurrency());
+        }
+        out.printf(" for %s after a %s warm-up, %d accounts, %.0f%% duplicates, Zipf exponent %.2f%n",
+                properties.duration(), properties.warmup(), properties.accounts(), properties.duplicateRate() * 100,
+                properties.zipfExponent());
+
+        out.printf("Throughput: %.1f responses/s%n", all.getTotalCount() / seconds(properties.duration()));
+        if (skipped.sum() > 0) {
+            out.printf("Skipped: %d requests, more than %d were in flight%n", skipped.sum(), properties.maxInFlight());
+        }
+        out.println();
+
+        out.printf("%-18s %10s %7s %10s %10s %10s %10s %10s%n", "outcome", "count", "%", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (var outcome : Outcome.values()) {
+            var histogram = histograms.get(outcome);
+            if (histogram.getTotalCount() > 0) printRow(out, outcome.name(), histogram);
+        }
+        printRow(out, "ALL", all);
+    }
+
+    void writeHistogram(Path file) throws IOException {
+        try (var out = new PrintStream(Files.newOutputStream(file))) {
+            all.outputPercentileDistribution(out, MICROS_PER_MILLI);
+        }
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram) {
+        out.printf("%-18s %10d %7.2f", name, histogram.getTotalCount(), 100.0 * histogram.getTotalCount() / Math.max(1, all.getTotalCount()));
+        for (var percentile : PERCENTILES) {
+            out.printf(" %10.2f", histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI);
+        }
+        out.printf(" %10.2f%n", histogram.getMaxValue() / MICROS_PER_MILLI);
+    }
+
+    private static double seconds(Duration duration) {
+        return duration.toNanos() / 1e9;
+    }
+}
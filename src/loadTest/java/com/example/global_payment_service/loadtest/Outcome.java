@@ -0,0 +1,23 @@
+package com.example.global_payment_service.loadtest;
+
+/**
+ * What became of a request. The first four mirror the {@code TransferStatus} answered by {@code POST /api/transfers}.
+ */
+enum Outcome {
+    COMPLETED,
+    PROCESSING,
+    BAD_REQUEST,
+    FAILED,
+    UNEXPECTED_STATUS,
+    ERROR;
+
+    static Outcome of(int httpStatus) {
+        return switch (httpStatus) {
+            case 201 -> COMPLETED;
+            case 409 -> PROCESSING;
+            case 400 -> BAD_REQUEST;
+            case 503 -> FAILED;
+            default -> UNEXPECTED_STATUS;
+        };
+    }
+}
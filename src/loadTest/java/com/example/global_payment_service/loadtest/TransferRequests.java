@@ -0,0 +1,68 @@
+package com.example.global_payment_service.loadtest;
+
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.transfer.api.TransferRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Generates transfer requests between the seeded accounts. Senders follow a Zipf distribution, recipients are uniform,
+ * and the amount is in a random currency. A fraction of the requests resend one of the recent requests, idempotency key
+ * included, the way a client retries.
+ */
+final class TransferRequests {
+
+    record TransferRequest(UUID idempotencyKey, String body) {
+    }
+
+    private static final int RECENT_REQUESTS = 1024;
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    private final List<UUID> accountIds;
+    private final ZipfDistribution senders;
+    private final double duplicateRate;
+    private final ObjectMapper objectMapper;
+    private final AtomicReferenceArray<TransferRequest> recentRequests = new AtomicReferenceArray<>(RECENT_REQUESTS);
+    private final AtomicLong sequence = new AtomicLong();
+
+    TransferRequests(List<UUID> accountIds, double zipfExponent, double duplicateRate, ObjectMapper objectMapper) {
+        this.accountIds = accountIds;
+        this.senders = new ZipfDistribution(accountIds.size(), zipfExponent);
+        this.duplicateRate = duplicateRate;
+        this.objectMapper = objectMapper;
+    }
+
+    TransferRequest next() {
+        var random = ThreadLocalRandom.current();
+        if (duplicateRate > 0 && random.nextDouble() < duplicateRate) {
+            var recent = recentRequests.get(random.nextInt(RECENT_REQUESTS));
+            if (recent != null) return recent;
+        }
+
+        var from = accountIds.get(senders.sample(random));
+        var to = accountIds.get(random.nextInt(accountIds.size()));
+        while (to.equals(from)) to = accountIds.get(random.nextInt(accountIds.size()));
+        var currency = CURRENCIES[random.nextInt(CURRENCIES.length)];
+        var amount = BigDecimal.valueOf(random.nextLong(1, 10_000), currency.getScale());
+
+        var request = new TransferRequest(UUID.randomUUID(), toJson(new TransferRequestDto(from, to, amount, currency)));
+        recentRequests.set((int) (sequence.getAndIncrement() % RECENT_REQUESTS), request);
+        return request;
+    }
+
+    private String toJson(TransferRequestDto dto) {
+        try {
+            return objectMapper.writeValueAsString(dto);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
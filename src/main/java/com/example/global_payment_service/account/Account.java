@@ -1,5 +1,6 @@
 package com.example.global_payment_service.account;
 
+import com.example.global_payment_service.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -14,19 +15,62 @@ import java.util.UUID;
 @Entity
 public class Account {
     public Account(BigDecimal balance, Currency currency) {
-        this.balance = balance;
-        this.currency = currency;
+        this(Money.of(balance, currency));
+    }
+
+    public Account(Money balance) {
+        this.balance = balance.amount();
+        this.currency = balance.currency();
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
-    private BigDecimal balance;
+    /**
+     * In minor units of {@link #currency}.
+     */
+    private long balance;
 
     @Enumerated(EnumType.STRING)
     private Currency currency;
 
+    /**
+     * Number of {@link AccountBucket}s that take the credits of this account, 0 if credits go to {@link #balance}.
+     */
+    @Column(name = "bucket_count", nullable = false)
+    private int bucketCount;
+
+    @Version
+    private Long version;
+
+    public Money getBalance() {
+        return new Money(balance, currency);
+    }
+
+    public void setBalance(Money balance) {
+        this.balance = requireOwnCurrency(balance).amount();
+    }
+
+    public boolean canDebit(Money amount) {
+        return requireOwnCurrency(amount).amount() <= balance;
+    }
+
+    public void debit(Money amount) {
+        balance = Math.subtractExact(balance, requireOwnCurrency(amount).amount());
+    }
+
+    public void credit(Money amount) {
+        balance = Math.addExact(balance, requireOwnCurrency(amount).amount());
+    }
+
+    private Money requireOwnCurrency(Money amount) {
+        if (amount.currency() != currency) {
+            throw new IllegalArgumentException("Expected an amount in " + currency + " but got " + amount.currency());
+        }
+        return amount;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
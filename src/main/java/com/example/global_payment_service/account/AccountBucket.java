@@ -0,0 +1,48 @@
+package com.example.global_payment_service.account;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * A share of the balance of a hot account. Credits to the account are spread over its buckets, so they don't all
+ * update the same row.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_account_bucket_account_index", columnNames = {"account_id", "bucket_index"}))
+public class AccountBucket {
+
+    public AccountBucket(UUID accountId, int bucketIndex) {
+        this.accountId = accountId;
+        this.bucketIndex = bucketIndex;
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "bucket_index", nullable = false)
+    private int bucketIndex;
+
+    /**
+     * In minor units of the account's currency.
+     */
+    @Column(nullable = false)
+    private long balance;
+
+    /**
+     * @return the balance the bucket held
+     */
+    long drain() {
+        var drained = balance;
+        balance = 0;
+        return drained;
+    }
+}
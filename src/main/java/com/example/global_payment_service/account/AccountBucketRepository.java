@@ -0,0 +1,30 @@
+package com.example.global_payment_service.account;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface AccountBucketRepository extends JpaRepository<AccountBucket, UUID> {
+
+    /**
+     * @param delta in minor units of the account's currency
+     * @return the number of buckets updated, 0 if the bucket doesn't exist (anymore)
+     */
+    @Modifying
+    @Query("update AccountBucket b set b.balance = b.balance + :delta where b.accountId = :accountId and b.bucketIndex = :bucketIndex")
+    int addToBalance(UUID accountId, int bucketIndex, long delta);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from AccountBucket b where b.accountId = :accountId order by b.bucketIndex")
+    List<AccountBucket> findByAccountIdForUpdate(UUID accountId);
+
+    @Query("select coalesce(sum(b.balance), 0) from AccountBucket b where b.accountId = :accountId")
+    long sumBalance(UUID accountId);
+}
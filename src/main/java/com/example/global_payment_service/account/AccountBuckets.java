@@ -0,0 +1,105 @@
+package com.example.global_payment_service.account;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Spreads the credits of hot accounts over {@link AccountBucket}s, so concurrent credits to the same account update
+ * different rows. Debits are still taken from the account's own balance. When that doesn't cover a debit, the buckets
+ * are drained into it under row locks, which is the only time credits and debits of a bucketed account wait for each
+ * other. The balance of an account is its own balance plus that of its buckets.
+ */
+@Service
+public class AccountBuckets {
+
+    public static final int MAX_BUCKETS = 256;
+
+    private final AccountRepository accountRepository;
+    private final AccountBucketRepository bucketRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public AccountBuckets(
+            AccountRepository accountRepository,
+            AccountBucketRepository bucketRepository,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.accountRepository = accountRepository;
+        this.bucketRepository = bucketRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Credits a bucket of the account picked at random, or the account itself if it has no buckets.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void credit(Account account, Money amount) {
+        if (account.getBucketCount() > 0 && amount.currency() == account.getCurrency()) {
+            var bucketIndex = ThreadLocalRandom.current().nextInt(account.getBucketCount());
+            if (bucketRepository.addToBalance(account.getId(), bucketIndex, amount.amount()) == 1) return;
+        }
+        account.credit(amount);
+    }
+
+    /**
+     * Tells whether the account can be debited, draining its buckets into its own balance first if that alone doesn't
+     * cover the amount.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean canDebit(Account account, Money amount) {
+        if (account.canDebit(amount)) return true;
+        if (account.getBucketCount() == 0) return false;
+
+        drain(account);
+        return account.canDebit(amount);
+    }
+
+    public Money balanceOf(Account account) {
+        if (account.getBucketCount() == 0) return account.getBalance();
+        return account.getBalance().plus(new Money(bucketRepository.sumBalance(account.getId()), account.getCurrency()));
+    }
+
+    /**
+     * Creates the missing buckets of the account, or drains and deletes the ones beyond {@code bucketCount}.
+     *
+     * @return the account, or empty if it doesn't exist
+     */
+    @Transactional
+    public Optional<Account> setBucketCount(UUID accountId, int bucketCount) {
+        if (bucketCount < 0 || bucketCount > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Bucket count must be between 0 and " + MAX_BUCKETS);
+        }
+
+        var account = accountRepository.findByIdForUpdate(accountId);
+        if (account.isEmpty()) return account;
+
+        var exists = new boolean[bucketCount];
+        for (var bucket : bucketRepository.findByAccountIdForUpdate(accountId)) {
+            if (bucket.getBucketIndex() < bucketCount) {
+                exists[bucket.getBucketIndex()] = true;
+            } else {
+                account.get().credit(new Money(bucket.drain(), account.get().getCurrency()));
+                bucketRepository.delete(bucket);
+            }
+        }
+        for (int i = 0; i < bucketCount; i++) {
+            if (!exists[i]) bucketRepository.save(new AccountBucket(accountId, i));
+        }
+        account.get().setBucketCount(bucketCount);
+        eventPublisher.publishEvent(new AccountChangedEvent(accountId));
+        return account;
+    }
+
+    private void drain(Account account) {
+        long drained = 0;
+        for (var bucket : bucketRepository.findByAccountIdForUpdate(account.getId())) {
+            drained = Math.addExact(drained, bucket.drain());
+        }
+        account.credit(new Money(drained, account.getCurrency()));
+    }
+}
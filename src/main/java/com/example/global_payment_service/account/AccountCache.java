@@ -0,0 +1,139 @@
+package com.example.global_payment_service.account;
+
+import com.example.global_payment_service.account.api.AccountDto;
+import com.example.global_payment_service.transfer.TransferCompletedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Serves account reads without a database round trip.
+ * <p>
+ * Profiles are cached until evicted by size: accounts are never deleted and their currency never changes, and the only
+ * mutable field, the bucket count, is only used to decide which locks a transfer takes, so a stale one on another
+ * instance costs contention but not correctness.
+ * <p>
+ * Balances are cached for {@code account.cache.balance-ttl} and evicted once a transfer touching the account commits
+ * on this instance. A balance read that starts after such a commit never returns the balance from before it: loads
+ * that overlap an eviction of the same key are returned but not cached. The eviction stamp is checked while holding the
+ * cache entry, so an eviction either bumps the stamp before the check or invalidates the entry after it is cached.
+ * Commits on other instances become visible within the TTL.
+ */
+public class AccountCache implements MeterBinder {
+
+    private static final int STAMP_STRIPES = 1024;
+
+    private final AccountRepository accountRepository;
+    private final boolean enabled;
+    private final Cache<UUID, AccountProfile> profiles;
+    private final Cache<UUID, AccountDto> balances;
+    private final AtomicLongArray evictionStamps = new AtomicLongArray(STAMP_STRIPES);
+
+    public AccountCache(AccountRepository accountRepository, AccountCacheProperties properties) {
+        this.accountRepository = accountRepository;
+        this.enabled = properties.enabled();
+        this.profiles = Caffeine.newBuilder()
+                .maximumSize(properties.profileMaximumSize())
+                .recordStats()
+                .build();
+        this.balances = Caffeine.newBuilder()
+                .maximumSize(properties.balanceMaximumSize())
+                .expireAfterWrite(properties.balanceTtl())
+                .recordStats()
+                .build();
+    }
+
+    public Optional<AccountProfile> findProfile(UUID id) {
+        if (!enabled) return accountRepository.findProfileById(id);
+        return Optional.ofNullable(profiles.get(id, key -> accountRepository.findProfileById(key).orElse(null)));
+    }
+
+    public Optional<AccountDto> find(UUID id) {
+        return findAll(List.of(id)).stream().findFirst();
+    }
+
+    /**
+     * @return the accounts that exist, in the order of {@code ids}
+     */
+    public List<AccountDto> findAll(Collection<UUID> ids) {
+        var distinct = new LinkedHashSet<>(ids);
+        distinct.remove(null);
+        if (!enabled) return order(distinct, load(distinct));
+
+        var found = new HashMap<UUID, AccountDto>(balances.getAllPresent(distinct));
+        var missing = distinct.stream().filter(id -> !found.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            var stamps = missing.stream().mapToLong(id -> evictionStamps.get(stripe(id))).toArray();
+            var loaded = load(missing);
+            for (int i = 0; i < missing.size(); i++) {
+                var account = loaded.get(missing.get(i));
+                if (account == null) continue;
+
+                found.put(account.id(), account);
+                var stamp = stamps[i];
+                balances.asMap().compute(account.id(), (id, cached) ->
+                        evictionStamps.get(stripe(id)) == stamp ? account : cached);
+            }
+        }
+        return order(distinct, found);
+    }
+
+    public void evict(UUID id) {
+        evictionStamps.incrementAndGet(stripe(id));
+        balances.invalidate(id);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        evict(event.senderId());
+        evict(event.recipientId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAccountChanged(AccountChangedEvent event) {
+        profiles.invalidate(event.accountId());
+        evict(event.accountId());
+    }
+
+    private HashMap<UUID, AccountDto> load(Collection<UUID> ids) {
+        var loaded = new HashMap<UUID, AccountDto>();
+        for (var account : accountRepository.findViewsByIdIn(ids)) {
+            loaded.put(account.id(), account);
+            if (enabled) profiles.put(account.id(), new AccountProfile(account.currency(), account.bucketCount()));
+        }
+        return loaded;
+    }
+
+    private static List<AccountDto> order(Collection<UUID> ids, HashMap<UUID, AccountDto> accounts) {
+        var ordered = new ArrayList<AccountDto>(accounts.size());
+        for (var id : ids) {
+            var account = accounts.get(id);
+            if (account != null) ordered.add(account);
+        }
+        return ordered;
+    }
+
+    private static int stripe(UUID id) {
+        return id.hashCode() & (STAMP_STRIPES - 1);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, profiles, "account.profiles");
+        CaffeineCacheMetrics.monitor(registry, balances, "account.balances");
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.global_payment_service.account;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param profileMaximumSize how many account profiles are kept; they never expire
+ * @param balanceMaximumSize how many account balances are kept
+ * @param balanceTtl         how long a balance is served from the cache, which bounds how stale it can be after a
+ *                           transfer committed by another instance
+ */
+@ConfigurationProperties(prefix = "account.cache")
+public record AccountCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000000") long profileMaximumSize,
+        @DefaultValue("100000") long balanceMaximumSize,
+        @DefaultValue("1s") Duration balanceTtl
+) {
+}
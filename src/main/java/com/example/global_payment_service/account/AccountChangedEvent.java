@@ -0,0 +1,9 @@
+package com.example.global_payment_service.account;
+
+import java.util.UUID;
+
+/**
+ * Published inside a transaction that changes an account other than by a transfer.
+ */
+public record AccountChangedEvent(UUID accountId) {
+}
@@ -0,0 +1,15 @@
+package com.example.global_payment_service.account;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({AccountCacheProperties.class, AccountImportProperties.class})
+public class AccountConfiguration {
+
+    @Bean
+    public AccountCache accountCache(AccountRepository accountRepository, AccountCacheProperties properties) {
+        return new AccountCache(accountRepository, properties);
+    }
+}
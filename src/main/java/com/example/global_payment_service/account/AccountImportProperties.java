@@ -0,0 +1,18 @@
+package com.example.global_payment_service.account;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param batchSize how many rows are inserted in one JDBC batch and transaction, and answered together
+ */
+@ConfigurationProperties(prefix = "account.import")
+public record AccountImportProperties(
+        @DefaultValue("1000") int batchSize
+) {
+    public AccountImportProperties {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("account.import.batch-size must be positive");
+        }
+    }
+}
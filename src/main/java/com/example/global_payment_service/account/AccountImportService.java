@@ -0,0 +1,184 @@
+package com.example.global_payment_service.account;
+
+import com.example.global_payment_service.account.api.AccountCreateRequestDto;
+import com.example.global_payment_service.account.api.AccountImportResultDto;
+import com.example.global_payment_service.persistence.TimeOrderedUuids;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Creates accounts from a CSV or NDJSON body while it is being read. Rows are validated one by one, and the valid ones
+ * are inserted with plain JDBC batches under ids generated up front, so no entity is ever managed by the persistence
+ * context. Every {@code account.import.batch-size} rows are committed in one transaction and their results are written
+ * out right after, so neither the request nor the response is ever held in memory.
+ * <p>
+ * CSV bodies start with a header naming the {@code balance} and {@code currency} columns, in any order. NDJSON bodies
+ * have one {@code {"balance": ..., "currency": ...}} object per line. Blank lines are skipped.
+ */
+@Log4j2
+@Service
+public class AccountImportService {
+
+    private static final String INSERT_ACCOUNT =
+            "insert into account (id, balance, currency, bucket_count, version) values (?, ?, ?, 0, 0)";
+
+    private record Row(long line, UUID id, Money balance, String error) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader rowReader;
+    private final ObjectWriter resultWriter;
+    private final AccountImportProperties properties;
+
+    public AccountImportService(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            AccountImportProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.rowReader = objectMapper.readerFor(AccountCreateRequestDto.class);
+        this.resultWriter = objectMapper.writerFor(AccountImportResultDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.properties = properties;
+    }
+
+    /**
+     * Writes one NDJSON result per row of {@code in}, in the order of the rows.
+     */
+    public void importAccounts(@NonNull AccountImportFormat format, @NonNull InputStream in, @NonNull OutputStream out) throws IOException {
+        var reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        try (var generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            long lineNumber = 0;
+            int[] columns = null;
+            if (format == AccountImportFormat.CSV) {
+                var header = reader.readLine();
+                lineNumber++;
+                columns = header == null ? null : csvColumns(header);
+                if (columns == null) {
+                    write(generator, List.of(new Row(lineNumber, null, null, "header must name the balance and currency columns")));
+                    return;
+                }
+            }
+
+            var pending = new ArrayList<Row>(properties.batchSize());
+            for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+
+                pending.add(parse(lineNumber, line, format, columns));
+                if (pending.size() == properties.batchSize()) {
+                    write(generator, insert(pending));
+                    pending.clear();
+                }
+            }
+            write(generator, insert(pending));
+        }
+    }
+
+    private Row parse(long lineNumber, String line, AccountImportFormat format, int[] columns) {
+        try {
+            var request = switch (format) {
+                case NDJSON -> rowReader.<AccountCreateRequestDto>readValue(line);
+                case CSV -> csvRow(line, columns);
+            };
+            return new Row(lineNumber, TimeOrderedUuids.next(), request.openingBalance(), null);
+        } catch (JsonProcessingException e) {
+            return new Row(lineNumber, null, null, "malformed row");
+        } catch (IllegalArgumentException e) {
+            return new Row(lineNumber, null, null, e.getMessage());
+        }
+    }
+
+    /**
+     * Inserts the valid rows in one transaction. If the batch fails, all of its valid rows are reported as failed.
+     */
+    private List<Row> insert(List<Row> rows) {
+        var valid = rows.stream().filter(row -> row.error() == null).toList();
+        if (valid.isEmpty()) return rows;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_ACCOUNT, valid, valid.size(), (statement, row) -> {
+                statement.setObject(1, row.id());
+                statement.setLong(2, row.balance().amount());
+                statement.setString(3, row.balance().currency().name());
+            }));
+            return rows;
+        } catch (DataAccessException e) {
+            log.warn("Account import batch of {} rows failed", valid.size(), e);
+            return rows.stream()
+                    .map(row -> row.error() == null ? new Row(row.line(), null, null, "could not be stored") : row)
+                    .toList();
+        }
+    }
+
+    private void write(JsonGenerator generator, List<Row> rows) throws IOException {
+        for (var row : rows) {
+            var result = row.error() == null
+                    ? AccountImportResultDto.created(row.line(), row.id())
+                    : AccountImportResultDto.rejected(row.line(), row.error());
+            resultWriter.writeValue(generator, result);
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+    }
+
+    /**
+     * @return the indexes of the balance and currency columns, or {@code null} if either is missing
+     */
+    private static int[] csvColumns(String header) {
+        var names = Arrays.stream(header.split(",")).map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+        var balance = names.indexOf("balance");
+        var currency = names.indexOf("currency");
+        return balance < 0 || currency < 0 ? null : new int[]{balance, currency};
+    }
+
+    private static AccountCreateRequestDto csvRow(String line, int[] columns) {
+        var values = line.split(",", -1);
+        if (values.length <= Math.max(columns[0], columns[1])) {
+            throw new IllegalArgumentException("missing columns");
+        }
+
+        BigDecimal balance;
+        try {
+            balance = new BigDecimal(values[columns[0]].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid balance " + values[columns[0]].trim());
+        }
+        var currencyCode = values[columns[1]].trim();
+        var currency = Arrays.stream(Currency.values())
+                .filter(c -> c.name().equals(currencyCode))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("unknown currency " + currencyCode));
+        return new AccountCreateRequestDto(balance, currency);
+    }
+}
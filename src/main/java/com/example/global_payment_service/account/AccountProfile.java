@@ -0,0 +1,11 @@
+package com.example.global_payment_service.account;
+
+/**
+ * What a transfer needs to know about an account before its transaction starts.
+ */
+public record AccountProfile(Currency currency, int bucketCount) {
+
+    public boolean isBucketed() {
+        return bucketCount > 0;
+    }
+}
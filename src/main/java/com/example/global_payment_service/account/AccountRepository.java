@@ -1,10 +1,51 @@
 package com.example.global_payment_service.account;
 
+import com.example.global_payment_service.account.api.AccountDto;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, UUID> {
+
+    @Query("select new com.example.global_payment_service.account.AccountProfile(a.currency, a.bucketCount) from Account a where a.id = :id")
+    Optional<AccountProfile> findProfileById(UUID id);
+
+    @Query("select new com.example.global_payment_service.account.IdentifiedAccountProfile(a.id, a.currency, a.bucketCount) from Account a where a.id in :ids")
+    List<IdentifiedAccountProfile> findProfilesByIdIn(Collection<UUID> ids);
+
+    /**
+     * Reads the balances including those of the buckets in one statement, so a concurrent drain of the buckets into
+     * the account can't be seen halfway.
+     */
+    @Query("""
+            select new com.example.global_payment_service.account.api.AccountDto(
+                a.id,
+                a.balance + coalesce((select sum(b.balance) from AccountBucket b where b.accountId = a.id), 0L),
+                a.currency,
+                a.bucketCount)
+            from Account a
+            where a.id in :ids
+            """)
+    List<AccountDto> findViewsByIdIn(Collection<UUID> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.id = :id")
+    Optional<Account> findByIdForUpdate(UUID id);
+
+    /**
+     * @param delta in minor units of the account's currency
+     */
+    @Modifying
+    @Query("update Account a set a.balance = a.balance + :delta, a.version = a.version + 1 where a.id = :id")
+    int addToBalance(UUID id, long delta);
+
 }
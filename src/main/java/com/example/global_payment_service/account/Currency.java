@@ -1,5 +1,18 @@
 package com.example.global_payment_service.account;
 
 public enum Currency {
-    EUR, USD, HUF,
+    EUR(2), USD(2), HUF(2);
+
+    private final int scale;
+
+    Currency(int scale) {
+        this.scale = scale;
+    }
+
+    /**
+     * @return the number of digits after the decimal point of the currency's minor unit, as defined by ISO 4217
+     */
+    public int getScale() {
+        return scale;
+    }
 }
@@ -0,0 +1,13 @@
+package com.example.global_payment_service.account;
+
+import java.util.UUID;
+
+/**
+ * An {@link AccountProfile} together with the id of its account, for loading the profiles of many accounts at once.
+ */
+public record IdentifiedAccountProfile(UUID id, Currency currency, int bucketCount) {
+
+    public boolean isBucketed() {
+        return bucketCount > 0;
+    }
+}
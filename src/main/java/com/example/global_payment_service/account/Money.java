@@ -0,0 +1,130 @@
+package com.example.global_payment_service.account;
+
+import org.springframework.lang.NonNull;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An amount of money, held as a whole number of the currency's minor units (cents for EUR). Arithmetic is exact and
+ * throws {@link ArithmeticException} on overflow instead of wrapping around. Conversion to another currency is the only
+ * operation that rounds, and the rounding mode has to be chosen explicitly.
+ */
+public record Money(long amount, @NonNull Currency currency) implements Comparable<Money> {
+
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    public Money {
+        if (currency == null) throw new IllegalArgumentException("Currency must not be null");
+    }
+
+    public static Money zero(@NonNull Currency currency) {
+        return new Money(0, currency);
+    }
+
+    /**
+     * @throws ArithmeticException if the value has more decimal places than the currency's minor unit, or does not fit
+     */
+    public static Money of(@NonNull BigDecimal value, @NonNull Currency currency) {
+        return new Money(value.setScale(currency.getScale(), RoundingMode.UNNECESSARY).unscaledValue().longValueExact(), currency);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(amount, currency.getScale());
+    }
+
+    public Money plus(@NonNull Money other) {
+        return new Money(Math.addExact(amount, sameCurrency(other).amount), currency);
+    }
+
+    public Money minus(@NonNull Money other) {
+        return new Money(Math.subtractExact(amount, sameCurrency(other).amount), currency);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(amount), currency);
+    }
+
+    public boolean isNegative() {
+        return amount < 0;
+    }
+
+    /**
+     * Converts to {@code to} at {@code rate} units of {@code to} per unit of this currency, rounded to the minor unit of
+     * {@code to}. Stays in {@code long} arithmetic when the rate has at most 18 significant digits and the intermediate
+     * product fits, and falls back to {@link BigDecimal} otherwise.
+     */
+    public Money convert(@NonNull Currency to, @NonNull BigDecimal rate, @NonNull RoundingMode roundingMode) {
+        if (to == currency && rate.compareTo(BigDecimal.ONE) == 0) return this;
+
+        // amount / 10^fromScale * unscaledRate / 10^rateScale * 10^toScale
+        int shift = rate.scale() + currency.getScale() - to.getScale();
+        if (rate.precision() <= 18 && shift >= -18 && shift <= 18) {
+            long unscaledRate = rate.unscaledValue().longValue();
+            long high = Math.multiplyHigh(amount, unscaledRate);
+            long product = amount * unscaledRate;
+            if ((high == 0 && product >= 0) || (high == -1 && product < 0)) {
+                if (shift >= 0) return new Money(divide(product, POWERS_OF_TEN[shift], roundingMode), to);
+                return new Money(Math.multiplyExact(product, POWERS_OF_TEN[-shift]), to);
+            }
+        }
+
+        var converted = BigDecimal.valueOf(amount)
+                .multiply(rate)
+                .movePointLeft(currency.getScale() - to.getScale())
+                .setScale(0, roundingMode);
+        return new Money(converted.longValueExact(), to);
+    }
+
+    @Override
+    public int compareTo(@NonNull Money other) {
+        return Long.compare(amount, sameCurrency(other).amount);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+
+    private Money sameCurrency(Money other) {
+        if (other.currency != currency) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+        return other;
+    }
+
+    /**
+     * Divides {@code dividend} by a positive {@code divisor}, rounding like {@link BigDecimal#divide} would.
+     */
+    static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) return quotient;
+
+        int sign = dividend < 0 ? -1 : 1;
+        boolean awayFromZero = switch (roundingMode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP, HALF_DOWN, HALF_EVEN -> {
+                int half = Long.compare(Math.abs(remainder), divisor - Math.abs(remainder));
+                if (half != 0) yield half > 0;
+                yield switch (roundingMode) {
+                    case HALF_UP -> true;
+                    case HALF_DOWN -> false;
+                    default -> (quotient & 1) != 0;
+                };
+            }
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return awayFromZero ? quotient + sign : quotient;
+    }
+}
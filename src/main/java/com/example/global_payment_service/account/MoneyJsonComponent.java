@@ -0,0 +1,47 @@
+package com.example.global_payment_service.account;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Maps {@link Money} to {@code {"amount": 12.34, "currency": "EUR"}}, with the amount in major units.
+ */
+@JsonComponent
+public class MoneyJsonComponent {
+
+    public static class Serializer extends JsonSerializer<Money> {
+        @Override
+        public void serialize(Money value, JsonGenerator generator, SerializerProvider serializers) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("amount", value.toBigDecimal());
+            generator.writeStringField("currency", value.currency().name());
+            generator.writeEndObject();
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<Money> {
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonNode node = parser.readValueAsTree();
+            var amount = node.get("amount");
+            var currency = node.get("currency");
+            if (amount == null || currency == null) {
+                return context.reportInputMismatch(Money.class, "Money needs an amount and a currency");
+            }
+
+            try {
+                return Money.of(amount.decimalValue(), Currency.valueOf(currency.asText()));
+            } catch (ArithmeticException | IllegalArgumentException e) {
+                return context.reportInputMismatch(Money.class, "Invalid money %s %s", amount, currency);
+            }
+        }
+    }
+}
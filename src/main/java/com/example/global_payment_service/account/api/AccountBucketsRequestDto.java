@@ -0,0 +1,4 @@
+package com.example.global_payment_service.account.api;
+
+public record AccountBucketsRequestDto(Integer bucketCount) {
+}
@@ -0,0 +1,122 @@
+package com.example.global_payment_service.account.api;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountBuckets;
+import com.example.global_payment_service.account.AccountCache;
+import com.example.global_payment_service.account.AccountImportFormat;
+import com.example.global_payment_service.account.AccountImportService;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.transfer.TransferEngine;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("api/accounts")
+public class AccountController {
+
+    static final int MAX_LOOKUP_IDS = 1000;
+
+    private final AccountRepository accountRepository;
+    private final AccountBuckets accountBuckets;
+    private final AccountCache accountCache;
+    private final AccountImportService accountImportService;
+    private final TransferEngine transferEngine;
+
+    public AccountController(
+            AccountRepository accountRepository,
+            AccountBuckets accountBuckets,
+            AccountCache accountCache,
+            AccountImportService accountImportService,
+            TransferEngine transferEngine
+    ) {
+        this.accountRepository = accountRepository;
+        this.accountBuckets = accountBuckets;
+        this.accountCache = accountCache;
+        this.accountImportService = accountImportService;
+        this.transferEngine = transferEngine;
+    }
+
+    @PostMapping
+    ResponseEntity<AccountDto> createAccount(@RequestBody AccountCreateRequestDto request) {
+        Account account;
+        try {
+            account = accountRepository.save(new Account(request.openingBalance()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.created(URI.create("/api/accounts/" + account.getId()))
+                .body(new AccountDto(account.getId(), account.getBalance().toBigDecimal(), account.getCurrency(), 0));
+    }
+
+    /**
+     * Creates an account for every row of a CSV or NDJSON body, answering with one NDJSON result per row while the
+     * body is still being read.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"}, produces = "application/x-ndjson")
+    void importAccounts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body,
+            HttpServletResponse response
+    ) throws IOException {
+        var format = AccountImportFormat.of(contentType).orElseThrow();
+        response.setContentType("application/x-ndjson");
+        accountImportService.importAccounts(format, body, response.getOutputStream());
+    }
+
+    /**
+     * Answers 409 if the transfer engine doesn't keep the stored balance current, rather than a stale balance.
+     */
+    @GetMapping("/{id}")
+    ResponseEntity<AccountDto> getAccount(@PathVariable UUID id) {
+        if (!transferEngine.storesBalances()) {
+            return ResponseEntity.status(HttpStatusCode.valueOf(409)).build();
+        }
+        return ResponseEntity.of(accountCache.find(id));
+    }
+
+    /**
+     * Looks up several accounts at once. Accounts that don't exist are left out of the response. Answers 409 like
+     * {@link #getAccount(UUID)}.
+     */
+    @PostMapping("/lookup")
+    ResponseEntity<List<AccountDto>> lookupAccounts(@RequestBody List<UUID> ids) {
+        if (!transferEngine.storesBalances()) {
+            return ResponseEntity.status(HttpStatusCode.valueOf(409)).build();
+        }
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            return ResponseEntity.status(HttpStatusCode.valueOf(413)).build();
+        }
+        return ResponseEntity.ok(accountCache.findAll(ids));
+    }
+
+    /**
+     * Spreads the credits of the account over {@code bucketCount} buckets, or stops doing so with 0.
+     */
+    @PutMapping("/{id}/buckets")
+    ResponseEntity<AccountDto> setBuckets(@PathVariable UUID id, @RequestBody AccountBucketsRequestDto request) {
+        var bucketCount = request.bucketCount();
+        if (bucketCount == null || bucketCount < 0 || bucketCount > AccountBuckets.MAX_BUCKETS) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return accountBuckets.setBucketCount(id, bucketCount)
+                .map(account -> new AccountDto(
+                        account.getId(),
+                        accountBuckets.balanceOf(account).toBigDecimal(),
+                        account.getCurrency(),
+                        account.getBucketCount()
+                ))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.global_payment_service.account.api;
+
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+
+import java.math.BigDecimal;
+
+public record AccountCreateRequestDto(BigDecimal balance, Currency currency) {
+
+    /**
+     * @throws IllegalArgumentException if a field is missing, or the balance is negative, has more decimal places than
+     *                                  the currency allows or is too large
+     */
+    public Money openingBalance() {
+        if (balance == null || currency == null) {
+            throw new IllegalArgumentException("balance and currency are required");
+        }
+        if (balance.signum() < 0) {
+            throw new IllegalArgumentException("balance must not be negative");
+        }
+        try {
+            return Money.of(balance, currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("invalid balance " + balance.toPlainString() + " " + currency);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.global_payment_service.account.api;
+
+import com.example.global_payment_service.account.Currency;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record AccountDto(UUID id, BigDecimal balance, Currency currency, int bucketCount) {
+    /**
+     * Used by query projections, which read the balance as stored: in minor units of the currency.
+     */
+    public AccountDto(UUID id, long balanceInMinorUnits, Currency currency, int bucketCount) {
+        this(id, BigDecimal.valueOf(balanceInMinorUnits, currency.getScale()), currency, bucketCount);
+    }
+}
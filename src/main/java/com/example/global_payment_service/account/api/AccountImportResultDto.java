@@ -0,0 +1,19 @@
+package com.example.global_payment_service.account.api;
+
+import java.util.UUID;
+
+/**
+ * The outcome of one row of an import: the id of the created account, or why the row was rejected.
+ *
+ * @param line the line of the row in the request body, starting at 1
+ */
+public record AccountImportResultDto(long line, UUID id, String error) {
+
+    public static AccountImportResultDto created(long line, UUID id) {
+        return new AccountImportResultDto(line, id, null);
+    }
+
+    public static AccountImportResultDto rejected(long line, String error) {
+        return new AccountImportResultDto(line, null, error);
+    }
+}
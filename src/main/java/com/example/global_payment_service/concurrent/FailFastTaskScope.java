@@ -0,0 +1,74 @@
+package com.example.global_payment_service.concurrent;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs subtasks on virtual threads and waits for all of them, cancelling the remaining subtasks as soon as one fails.
+ * This is the shutdown-on-failure policy of {@code StructuredTaskScope}, which is still a preview API in Java 25.
+ * The scope must be used in a try-with-resources block by the thread that created it.
+ */
+public final class FailFastTaskScope implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<Future<?>> subtasks = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    public <T> Supplier<T> fork(Callable<T> task) {
+        Future<T> subtask = executor.submit(() -> {
+            try {
+                return task.call();
+            } catch (Throwable e) {
+                if (failure.compareAndSet(null, e)) cancelAll();
+                throw e;
+            }
+        });
+        subtasks.add(subtask);
+        // a subtask that failed before this one was added could not cancel it
+        if (failure.get() != null) subtask.cancel(true);
+        return subtask::resultNow;
+    }
+
+    /**
+     * Waits for all subtasks to complete and rethrows the first failure, if any.
+     */
+    public void join() throws InterruptedException {
+        try {
+            for (var subtask : subtasks) {
+                try {
+                    subtask.get();
+                } catch (ExecutionException | CancellationException e) {
+                    // the first failure is recorded by the failing subtask itself
+                }
+            }
+        } catch (InterruptedException e) {
+            cancelAll();
+            throw e;
+        }
+
+        var firstFailure = failure.get();
+        if (firstFailure == null) return;
+        if (firstFailure instanceof RuntimeException e) throw e;
+        if (firstFailure instanceof Error e) throw e;
+        throw new CompletionException(firstFailure);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        executor.close();
+    }
+
+    private void cancelAll() {
+        subtasks.forEach(subtask -> subtask.cancel(true));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.global_payment_service.persistence;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link ConnectionAdmissionGate} in front of the connection pool when the application runs on virtual threads
+ * ({@code spring.threads.virtual.enabled=true}).
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(ConnectionAdmissionProperties.class)
+public class ConnectionAdmissionConfiguration {
+
+    @Bean
+    public ConnectionAdmissionGate connectionAdmissionGate(ConnectionAdmissionProperties properties) {
+        return new ConnectionAdmissionGate(properties.maxConcurrentConnections(), properties.acquireTimeout());
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionAdmissionPostProcessor(ObjectProvider<ConnectionAdmissionGate> gate) {
+        return new BeanPostProcessor() {
+            @Override
+            public @NonNull Object postProcessAfterInitialization(@NonNull Object bean, @NonNull String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof AdmissionControlledDataSource) {
+                    return bean;
+                }
+                return new AdmissionControlledDataSource(dataSource, gate.getObject());
+            }
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.global_payment_service.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.lang.NonNull;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits how many threads may hold a database connection at the same time. With virtual threads there can be far more
+ * concurrent requests than pooled connections, and letting all of them contend for the pool directly just turns into
+ * connection timeouts. Waiting threads queue here in FIFO order instead, and the time they spend queueing is recorded.
+ */
+public class ConnectionAdmissionGate implements MeterBinder {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    private volatile Timer waitTimer;
+    private volatile Counter rejections;
+
+    public ConnectionAdmissionGate(int maxConcurrentConnections, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrentConnections, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    public void acquire() throws SQLException {
+        var start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        } finally {
+            var timer = waitTimer;
+            if (timer != null) timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        if (!acquired) {
+            var counter = rejections;
+            if (counter != null) counter.increment();
+            throw new SQLTransientConnectionException("Timed out waiting for a database connection");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        waitTimer = Timer.builder("db.admission.wait")
+                .description("Time spent queueing for a database connection")
+                .publishPercentileHistogram()
+                .register(registry);
+        rejections = Counter.builder("db.admission.rejected")
+                .description("Connection requests that timed out while queueing")
+                .register(registry);
+        Gauge.builder("db.admission.queued", permits, Semaphore::getQueueLength)
+                .description("Threads currently queueing for a database connection")
+                .register(registry);
+        Gauge.builder("db.admission.available", permits, Semaphore::availablePermits)
+                .description("Database connections that can be handed out without queueing")
+                .register(registry);
+    }
+}
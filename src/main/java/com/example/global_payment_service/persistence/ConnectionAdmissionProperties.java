@@ -0,0 +1,13 @@
+package com.example.global_payment_service.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "db.admission")
+public record ConnectionAdmissionProperties(
+        @DefaultValue("10") int maxConcurrentConnections,
+        @DefaultValue("5s") Duration acquireTimeout
+) {
+}
@@ -0,0 +1,69 @@
+package com.example.global_payment_service.transfer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process locks keyed by account id. Account ids are hashed onto a fixed number of lock stripes, and the stripes of
+ * a set of accounts are always locked in ascending stripe order, so two transfers touching the same accounts in
+ * opposite directions can't deadlock.
+ */
+public class AccountLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public AccountLockManager(int stripeCount) {
+        var size = 1;
+        while (size < stripeCount) size <<= 1;
+
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public Locked lock(UUID first, UUID second) {
+        return lock(List.of(first, second));
+    }
+
+    public Locked lock(Collection<UUID> accountIds) {
+        var indices = new int[accountIds.size()];
+        var count = 0;
+        for (var accountId : accountIds) {
+            indices[count++] = stripeOf(accountId);
+        }
+        Arrays.sort(indices);
+
+        var locked = new ReentrantLock[indices.length];
+        var lockedCount = 0;
+        for (int i = 0; i < indices.length; i++) {
+            if (i > 0 && indices[i] == indices[i - 1]) continue;
+            var stripe = stripes[indices[i]];
+            stripe.lock();
+            locked[lockedCount++] = stripe;
+        }
+
+        var toUnlock = lockedCount;
+        return () -> {
+            for (int i = toUnlock - 1; i >= 0; i--) {
+                locked[i].unlock();
+            }
+        };
+    }
+
+    private int stripeOf(UUID accountId) {
+        var hash = accountId.hashCode();
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    @FunctionalInterface
+    public interface Locked extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.global_payment_service.transfer;
+
+import org.springframework.lang.NonNull;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A {@link TransferEngine} that can commit many quoted transfers in one transaction, together with the final status of
+ * their idempotency keys. {@link BatchTransferService} uses it when the selected engine offers it, and hands every item
+ * of a batch to the orchestrator one by one otherwise.
+ */
+public interface BatchTransferEngine extends TransferEngine {
+
+    /**
+     * Applies the transfers that can be applied, rejects the others as {@link TransferStatus#BAD_REQUEST}, and records
+     * the resulting status of every reserved key.
+     *
+     * @param idempotencyKeys the reserved key of every quote, in the same order
+     * @return the status of every quote, in the same order
+     */
+    @NonNull
+    List<TransferStatus> transferChunk(@NonNull List<UUID> idempotencyKeys, @NonNull List<TransferQuote> quotes);
+}
@@ -0,0 +1,11 @@
+package com.example.global_payment_service.transfer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "transfer.batch")
+public record BatchTransferProperties(
+        @DefaultValue("50000") int maxItems,
+        @DefaultValue("500") int chunkSize
+) {
+}
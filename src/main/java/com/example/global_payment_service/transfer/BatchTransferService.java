@@ -0,0 +1,251 @@
+package com.example.global_payment_service.transfer;
+
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.api.BatchTransferItemDto;
+import com.example.global_payment_service.transfer.api.BatchTransferResultDto;
+import com.example.global_payment_service.transfer.exchange.ExchangeService;
+import com.example.global_payment_service.transfer.idempotency.IdempotencyService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Processes many transfers at once with a constant number of round trips per chunk: idempotency keys are reserved
+ * with one batched insert, the existing keys and the profiles of the involved accounts are looked up with one query per
+ * chunk of ids, every distinct currency pair is quoted once, and each chunk of transfers is handed to the {@link BatchTransferEngine} to be committed in a single transaction
+ * together with the final status of its idempotency keys. Engines that can't commit chunks get the items one by one
+ * through the orchestrator. Accounts are tracked by id, never by entity identity.
+ */
+@Log4j2
+@Service
+public class BatchTransferService {
+
+    private final TransferEngine transferEngine;
+    private final TransferOrchestratorService orchestratorService;
+    private final IdempotencyService idempotencyService;
+    private final AccountRepository accountRepository;
+    private final ExchangeService exchangeService;
+    private final BatchTransferProperties properties;
+
+    public BatchTransferService(
+            TransferEngine transferEngine,
+            TransferOrchestratorService orchestratorService,
+            IdempotencyService idempotencyService,
+            AccountRepository accountRepository,
+            ExchangeService exchangeService,
+            BatchTransferProperties properties
+    ) {
+        this.transferEngine = transferEngine;
+        this.orchestratorService = orchestratorService;
+        this.idempotencyService = idempotencyService;
+        this.accountRepository = accountRepository;
+        this.exchangeService = exchangeService;
+        this.properties = properties;
+    }
+
+    public List<BatchTransferResultDto> handleBatch(List<BatchTransferItemDto> items) {
+        var statuses = new TransferStatus[items.size()];
+        var firstIndexByKey = new HashMap<UUID, Integer>();
+        var candidates = new ArrayList<Integer>();
+        for (int i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+            if (!isComplete(item)) {
+                statuses[i] = TransferStatus.BAD_REQUEST;
+            } else if (firstIndexByKey.putIfAbsent(item.idempotencyKey(), i) == null) {
+                candidates.add(i);
+            }
+        }
+
+        if (transferEngine instanceof BatchTransferEngine batchEngine) {
+            var reserved = reserve(items, candidates, statuses);
+            process(batchEngine, items, reserved, statuses);
+        } else {
+            candidates.forEach(i -> statuses[i] = handleIndividually(items.get(i)));
+        }
+
+        var results = new ArrayList<BatchTransferResultDto>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            var item = items.get(i);
+            var status = statuses[i] != null ? statuses[i] : statuses[firstIndexByKey.get(item.idempotencyKey())];
+            results.add(new BatchTransferResultDto(item.idempotencyKey(), status));
+        }
+        return results;
+    }
+
+    private List<Integer> reserve(List<BatchTransferItemDto> items, List<Integer> candidates, TransferStatus[] statuses) {
+        var existing = new HashMap<UUID, TransferStatus>();
+        for (var chunk : chunks(candidates.stream().map(i -> items.get(i).idempotencyKey()).toList())) {
+            existing.putAll(idempotencyService.getStatuses(chunk));
+        }
+        var fresh = new ArrayList<Integer>();
+        for (var i : candidates) {
+            var status = existing.get(items.get(i).idempotencyKey());
+            if (status != null) {
+                statuses[i] = status;
+            } else {
+                fresh.add(i);
+            }
+        }
+
+        try {
+            idempotencyService.reserveAll(fresh.stream().map(i -> items.get(i).idempotencyKey()).toList());
+            return fresh;
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent request took some of the keys in the meantime, fall back to reserving them one by one
+            var reserved = new ArrayList<Integer>();
+            for (var i : fresh) {
+                var idempotencyKey = items.get(i).idempotencyKey();
+                try {
+                    idempotencyService.reserve(idempotencyKey);
+                    reserved.add(i);
+                } catch (DataIntegrityViolationException conflict) {
+                    statuses[i] = idempotencyService.getStatus(idempotencyKey).orElseThrow();
+                }
+            }
+            return reserved;
+        }
+    }
+
+    private void process(BatchTransferEngine engine, List<BatchTransferItemDto> items, List<Integer> reserved, TransferStatus[] statuses) {
+        var accountIds = new HashSet<UUID>();
+        reserved.forEach(i -> {
+            accountIds.add(items.get(i).from());
+            accountIds.add(items.get(i).to());
+        });
+        var currencies = new HashMap<UUID, Currency>();
+        var bucketed = new HashSet<UUID>();
+        for (var chunk : chunks(List.copyOf(accountIds))) {
+            accountRepository.findProfilesByIdIn(chunk).forEach(profile -> {
+                currencies.put(profile.id(), profile.currency());
+                if (profile.isBucketed()) bucketed.add(profile.id());
+            });
+        }
+
+        var rates = new HashMap<CurrencyPair, BigDecimal>();
+        var unavailableRates = new HashSet<CurrencyPair>();
+        var quotes = new ArrayList<IndexedQuote>();
+        var rejectedKeys = new ArrayList<UUID>();
+        var failedKeys = new ArrayList<UUID>();
+        for (var i : reserved) {
+            var item = items.get(i);
+            var fromCurrency = currencies.get(item.from());
+            var toCurrency = currencies.get(item.to());
+            var balance = toMoney(item);
+            if (balance == null || balance.isNegative() || fromCurrency == null || toCurrency == null) {
+                statuses[i] = TransferStatus.BAD_REQUEST;
+                rejectedKeys.add(item.idempotencyKey());
+                continue;
+            }
+
+            var deductRate = rate(new CurrencyPair(item.currency(), fromCurrency), rates, unavailableRates);
+            var addRate = rate(new CurrencyPair(item.currency(), toCurrency), rates, unavailableRates);
+            if (deductRate == null || addRate == null) {
+                statuses[i] = TransferStatus.FAILED;
+                failedKeys.add(item.idempotencyKey());
+                continue;
+            }
+
+            var balanceToDeduct = exchangeService.exchangeTo(balance, fromCurrency, deductRate, ExchangeService.DEBIT_ROUNDING);
+            if (balance.amount() > 0 && balanceToDeduct.amount() == 0) {
+                statuses[i] = TransferStatus.BAD_REQUEST;
+                rejectedKeys.add(item.idempotencyKey());
+                continue;
+            }
+
+            quotes.add(new IndexedQuote(i, new TransferQuote(
+                    item.from(),
+                    item.to(),
+                    balance,
+                    balanceToDeduct,
+                    exchangeService.exchangeTo(balance, toCurrency, addRate, ExchangeService.CREDIT_ROUNDING),
+                    bucketed.contains(item.from()),
+                    bucketed.contains(item.to())
+            )));
+        }
+
+        for (int start = 0; start < quotes.size(); start += properties.chunkSize()) {
+            commitChunk(engine, items, quotes.subList(start, Math.min(quotes.size(), start + properties.chunkSize())), statuses);
+        }
+
+        chunks(rejectedKeys).forEach(chunk -> idempotencyService.updateStatuses(chunk, TransferStatus.BAD_REQUEST));
+        chunks(failedKeys).forEach(chunk -> idempotencyService.updateStatuses(chunk, TransferStatus.FAILED));
+    }
+
+    private void commitChunk(BatchTransferEngine engine, List<BatchTransferItemDto> items, List<IndexedQuote> chunk, TransferStatus[] statuses) {
+        var idempotencyKeys = chunk.stream().map(quote -> items.get(quote.index()).idempotencyKey()).toList();
+        try {
+            var chunkStatuses = engine.transferChunk(idempotencyKeys, chunk.stream().map(IndexedQuote::quote).toList());
+            for (int i = 0; i < chunk.size(); i++) {
+                statuses[chunk.get(i).index()] = chunkStatuses.get(i);
+            }
+        } catch (RuntimeException e) {
+            log.warn(() -> String.format("Failed to commit a chunk of %d transfers", chunk.size()), e);
+            chunk.forEach(quote -> statuses[quote.index()] = TransferStatus.FAILED);
+            idempotencyService.updateStatuses(idempotencyKeys, TransferStatus.FAILED);
+        }
+    }
+
+    private BigDecimal rate(CurrencyPair pair, Map<CurrencyPair, BigDecimal> rates, Set<CurrencyPair> unavailableRates) {
+        var rate = rates.get(pair);
+        if (rate != null || unavailableRates.contains(pair)) return rate;
+
+        try {
+            rate = exchangeService.getExchangeRate(pair.from(), pair.to());
+            rates.put(pair, rate);
+            return rate;
+        } catch (RuntimeException e) {
+            log.debug(() -> String.format("Failed to get exchange rate from %s to %s", pair.from(), pair.to()), e);
+            unavailableRates.add(pair);
+            return null;
+        }
+    }
+
+    private TransferStatus handleIndividually(BatchTransferItemDto item) {
+        try {
+            return orchestratorService.handleTransferRequest(item.idempotencyKey(), item.toRequest());
+        } catch (Exception e) {
+            return TransferStatus.FAILED;
+        }
+    }
+
+    /**
+     * Splits ids into chunks of {@code transfer.batch.chunk-size}, so no statement binds more of them than a chunk.
+     */
+    private <T> List<List<T>> chunks(List<T> ids) {
+        var chunks = new ArrayList<List<T>>();
+        for (int start = 0; start < ids.size(); start += properties.chunkSize()) {
+            chunks.add(ids.subList(start, Math.min(ids.size(), start + properties.chunkSize())));
+        }
+        return chunks;
+    }
+
+    private static Money toMoney(BatchTransferItemDto item) {
+        try {
+            return Money.of(item.amount(), item.currency());
+        } catch (ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private static boolean isComplete(BatchTransferItemDto item) {
+        return item.idempotencyKey() != null && item.from() != null && item.to() != null
+                && item.amount() != null && item.currency() != null;
+    }
+
+    private record CurrencyPair(Currency from, Currency to) {
+    }
+
+    private record IndexedQuote(int index, TransferQuote quote) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.global_payment_service.transfer;
+
+import com.example.global_payment_service.account.Money;
+import org.springframework.lang.NonNull;
+
+import java.util.UUID;
+
+/**
+ * A {@link TransferEngine} that can record the idempotency key of a transfer as COMPLETED in the same transaction as
+ * the transfer itself.
+ */
+public interface IdempotentTransferEngine extends TransferEngine {
+
+    /**
+     * @throws org.springframework.dao.DataIntegrityViolationException if the key has already been recorded, in which
+     *                                                                   case nothing is transferred
+     */
+    void transfer(@NonNull UUID idempotencyKey, @NonNull UUID fromId, @NonNull UUID toId, @NonNull Money balance);
+}
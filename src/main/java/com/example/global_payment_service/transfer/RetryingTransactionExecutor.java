@@ -0,0 +1,72 @@
+package com.example.global_payment_service.transfer;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Runs a transfer transaction, retrying it with jittered backoff a bounded number of times if it fails an optimistic
+ * {@code @Version} check, or is chosen as a deadlock victim or times out waiting for a row lock. Every attempt has to
+ * commit within the {@link TransferCommitDeadline}.
+ */
+@Component
+public class RetryingTransactionExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+    private final TransferLockingProperties lockingProperties;
+    private final TransferCommitDeadline commitDeadline;
+    private final TransferMetrics metrics;
+
+    public RetryingTransactionExecutor(
+            TransactionTemplate transactionTemplate,
+            TransferLockingProperties lockingProperties,
+            TransferCommitDeadline commitDeadline,
+            TransferMetrics metrics
+    ) {
+        this.transactionTemplate = transactionTemplate;
+        this.lockingProperties = lockingProperties;
+        this.commitDeadline = commitDeadline;
+        this.metrics = metrics;
+    }
+
+    public void execute(Consumer<TransactionStatus> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                executeOnce(action);
+                return;
+            } catch (OptimisticLockingFailureException | PessimisticLockingFailureException e) {
+                if (attempt >= lockingProperties.maxAttempts()) throw e;
+                backOff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Records how long the transaction was open, and how long its commit took if it committed.
+     */
+    private void executeOnce(Consumer<TransactionStatus> action) {
+        var start = metrics.transactionStarted();
+        var actionEnd = new long[1];
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                commitDeadline.enforce();
+                action.accept(status);
+                actionEnd[0] = System.nanoTime();
+            });
+            metrics.record(TransferMetrics.Stage.COMMIT, actionEnd[0]);
+        } finally {
+            metrics.transactionEnded(start);
+        }
+    }
+
+    private void backOff(int attempt) {
+        var backoffNanos = lockingProperties.retryBackoff().toNanos();
+        LockSupport.parkNanos(backoffNanos * attempt + ThreadLocalRandom.current().nextLong(backoffNanos + 1));
+    }
+}
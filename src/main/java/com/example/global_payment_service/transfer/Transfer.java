@@ -2,31 +2,38 @@ package com.example.global_payment_service.transfer;
 
 import com.example.global_payment_service.account.Account;
 import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
 
-import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.UUID;
 
 @Setter
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_transfer_created_at_id", columnList = "created_at, id"))
 public class Transfer {
 
-    public Transfer(Account sender, Account recipient, BigDecimal balance, Currency currency) {
+    public Transfer(UUID id, Account sender, Account recipient, Money balance) {
+        this(sender, recipient, balance);
+        this.id = id;
+    }
+
+    public Transfer(Account sender, Account recipient, Money balance) {
         this.sender = sender;
         this.recipient = recipient;
-        this.balance = balance;
-        this.currency = currency;
+        this.balance = balance.amount();
+        this.currency = balance.currency();
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @ManyToOne
@@ -37,13 +44,29 @@ public class Transfer {
     @JoinColumn(name = "recipient_id", nullable = false)
     private Account recipient;
 
+    /**
+     * In minor units of {@link #currency}.
+     */
     @Column(nullable = false)
-    private BigDecimal balance;
+    private long balance;
 
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
     private Currency currency;
 
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    public Money getBalance() {
+        return new Money(balance, currency);
+    }
+
+    public void setBalance(Money balance) {
+        this.balance = balance.amount();
+        this.currency = balance.currency();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
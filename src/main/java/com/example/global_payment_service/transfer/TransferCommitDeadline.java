@@ -0,0 +1,67 @@
+package com.example.global_payment_service.transfer;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Makes {@link TransferCommitProperties#deadline()} hold. Every transaction that writes transfers calls
+ * {@link #enforce()} before stamping them, and fails at commit if the deadline has passed by then. Statement timeouts
+ * alone don't bound this, since a transaction can also wait between its statements. The persistence context is flushed
+ * before the check, so that waits of the pending inserts and updates count as well; only the commit itself runs after
+ * it, which the clock skew allowance covers.
+ */
+@Component
+public class TransferCommitDeadline {
+
+    private static final HibernateJpaDialect JPA_DIALECT = new HibernateJpaDialect();
+
+    private final EntityManager entityManager;
+    private final Duration deadline;
+
+    public TransferCommitDeadline(EntityManager entityManager, TransferCommitProperties properties) {
+        this.entityManager = entityManager;
+        this.deadline = properties.deadline();
+    }
+
+    /**
+     * Must be called inside the transaction.
+     */
+    public void enforce() {
+        enforce(deadline);
+    }
+
+    /**
+     * Like {@link #enforce()}, but with a deadline of its own.
+     */
+    public void enforce(Duration deadline) {
+        var expiresAt = System.nanoTime() + deadline.toNanos();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                flush();
+                if (System.nanoTime() - expiresAt > 0) {
+                    throw new TransactionTimedOutException("Transfer transaction was not committed within " + deadline);
+                }
+            }
+        });
+    }
+
+    /**
+     * Translates failures the way the transaction manager would have at commit, so that optimistic locking failures
+     * are still retried and unique key violations still recognised.
+     */
+    private void flush() {
+        try {
+            entityManager.flush();
+        } catch (RuntimeException e) {
+            var translated = JPA_DIALECT.translateExceptionIfPossible(e);
+            throw translated != null ? translated : e;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.global_payment_service.transfer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Transfers are stamped with their id and creation time when they are written, not when they commit, so a transfer
+ * can become visible after others that were stamped later. Readers that go by these stamps only read transfers stamped
+ * before {@link #settledBefore()}, which have all been committed or rolled back by then.
+ *
+ * @param deadline  a transaction that writes transfers fails at commit if it has been open longer than this
+ * @param clockSkew how far the clocks of two instances may be apart
+ */
+@ConfigurationProperties(prefix = "transfer.commit")
+public record TransferCommitProperties(
+        @DefaultValue("5s") Duration deadline,
+        @DefaultValue("1s") Duration clockSkew
+) {
+    public TransferCommitProperties {
+        if (!deadline.isPositive()) {
+            throw new IllegalArgumentException("transfer.commit.deadline must be positive");
+        }
+        if (clockSkew.isNegative()) {
+            throw new IllegalArgumentException("transfer.commit.clock-skew must not be negative");
+        }
+    }
+
+    /**
+     * @return how long after being stamped a transfer may still become visible
+     */
+    public Duration settleLag() {
+        return deadline.plus(clockSkew);
+    }
+
+    public Instant settledBefore() {
+        return Instant.now().minus(settleLag());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.global_payment_service.transfer;
+
+import com.example.global_payment_service.account.Money;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that inserts a {@link Transfer}. Listeners that must only see committed transfers
+ * have to use {@code @TransactionalEventListener}.
+ */
+public record TransferCompletedEvent(
+        UUID transferId,
+        UUID senderId,
+        UUID recipientId,
+        Money amount,
+        Instant completedAt
+) {
+    public static TransferCompletedEvent of(Transfer transfer) {
+        return new TransferCompletedEvent(
+                transfer.getId(),
+                transfer.getSender().getId(),
+                transfer.getRecipient().getId(),
+                transfer.getBalance(),
+                transfer.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.global_payment_service.transfer;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({TransferLockingProperties.class, BatchTransferProperties.class, TransferCommitProperties.class})
+public class TransferConfiguration {
+
+    @Bean
+    public AccountLockManager accountLockManager(TransferLockingProperties properties) {
+        return new AccountLockManager(properties.stripes());
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.global_payment_service.transfer;
+
+import com.example.global_payment_service.account.Money;
+import org.springframework.lang.NonNull;
+
+import java.util.UUID;
+
+/**
+ * Executes validated transfers. {@link TransferService} commits every transfer in its own database transaction; other
+ * engines can be selected with the {@code transfer.engine} property.
+ */
+public interface TransferEngine {
+    void transfer(@NonNull UUID fromId, @NonNull UUID toId, @NonNull Money balance);
+
+    /**
+     * Whether the balance stored on an account is its current balance, and can be served to clients as such.
+     */
+    default boolean storesBalances() {
+        return true;
+    }
+}
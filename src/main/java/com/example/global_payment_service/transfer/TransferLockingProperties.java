@@ -0,0 +1,14 @@
+package com.example.global_payment_service.transfer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "transfer.locking")
+public record TransferLockingProperties(
+        @DefaultValue("1024") int stripes,
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("10ms") Duration retryBackoff
+) {
+}
@@ -0,0 +1,123 @@
+package com.example.global_payment_service.transfer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency of the stages of a transfer, of whole transfer requests by the status they were answered with, and of the
+ * transactions that apply them. All meters are created when the registry is bound, so recording costs a
+ * {@link System#nanoTime()} call and a lock-free histogram update. Nothing is recorded before binding.
+ */
+@Component
+public class TransferMetrics implements MeterBinder {
+
+    public enum Stage {
+        /**
+         * Reserving the idempotency key, recording its status or reading the status recorded by an earlier request.
+         */
+        IDEMPOTENCY,
+        /**
+         * Checking that an account exists and reading its currency, before the transaction.
+         */
+        ACCOUNT_LOOKUP,
+        /**
+         * Converting the amount to the currency of an account, including the exchange rate lookup.
+         */
+        EXCHANGE,
+        /**
+         * Loading both accounts inside the transaction.
+         */
+        ACCOUNT_LOAD,
+        /**
+         * Debiting, crediting and saving the transfer, up to the commit.
+         */
+        BALANCE_UPDATE,
+        /**
+         * Committing the transaction.
+         */
+        COMMIT
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+    private static final TransferStatus[] STATUSES = TransferStatus.values();
+
+    private final AtomicInteger activeTransactions = new AtomicInteger();
+
+    private volatile Timer[] stageTimers;
+    private volatile Timer[] requestTimers;
+    private volatile Counter duplicates;
+    private volatile Timer transactionTimer;
+
+    public void record(Stage stage, long startNanos) {
+        var timers = stageTimers;
+        if (timers != null) timers[stage.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordRequest(TransferStatus status, long startNanos) {
+        var timers = requestTimers;
+        if (timers != null) timers[status.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a request answered with the status of an earlier request with the same idempotency key.
+     */
+    public void countDuplicate() {
+        var counter = duplicates;
+        if (counter != null) counter.increment();
+    }
+
+    /**
+     * @return the start time to pass to {@link #transactionEnded}
+     */
+    public long transactionStarted() {
+        activeTransactions.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    public void transactionEnded(long startNanos) {
+        activeTransactions.decrementAndGet();
+        var timer = transactionTimer;
+        if (timer != null) timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        var stages = new Timer[STAGES.length];
+        for (var stage : STAGES) {
+            stages[stage.ordinal()] = Timer.builder("transfer.stage")
+                    .description("Time spent in one stage of a transfer")
+                    .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        var requests = new Timer[STATUSES.length];
+        for (var status : STATUSES) {
+            requests[status.ordinal()] = Timer.builder("transfer.requests")
+                    .description("Transfer requests by the status they were answered with")
+                    .tag("outcome", status.name().toLowerCase(Locale.ROOT))
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+        stageTimers = stages;
+        requestTimers = requests;
+        duplicates = Counter.builder("transfer.duplicates")
+                .description("Transfer requests answered with the status of an earlier request with the same key")
+                .register(registry);
+        transactionTimer = Timer.builder("transfer.transaction")
+                .description("Time a transfer transaction was held open, including its commit or rollback")
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("transfer.transactions.active", activeTransactions, AtomicInteger::get)
+                .description("Transfer transactions currently open")
+                .register(registry);
+    }
+}
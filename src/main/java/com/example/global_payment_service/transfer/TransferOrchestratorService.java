@@ -1,9 +1,10 @@
 package com.example.global_payment_service.transfer;
 
-import com.example.global_payment_service.account.Balance;
 import com.example.global_payment_service.transfer.api.TransferRequestDto;
 import com.example.global_payment_service.transfer.exception.BadTransferRequestException;
+import com.example.global_payment_service.transfer.idempotency.IdempotencyProperties;
 import com.example.global_payment_service.transfer.idempotency.IdempotencyService;
+import com.example.global_payment_service.transfer.idempotency.IdempotencyStatusCache;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
@@ -14,33 +15,147 @@ import java.util.UUID;
 @Service
 public class TransferOrchestratorService {
 
-    private final TransferService transferService;
+    private final TransferEngine transferEngine;
     private final IdempotencyService idempotencyService;
+    private final IdempotencyStatusCache statusCache;
+    private final TransferMetrics metrics;
+    private final boolean singleCommit;
 
-    public TransferOrchestratorService(TransferService transferService, IdempotencyService idempotencyService) {
-        this.transferService = transferService;
+    public TransferOrchestratorService(
+            TransferEngine transferEngine,
+            IdempotencyService idempotencyService,
+            IdempotencyStatusCache statusCache,
+            TransferMetrics metrics,
+            IdempotencyProperties idempotencyProperties
+    ) {
+        this.transferEngine = transferEngine;
         this.idempotencyService = idempotencyService;
+        this.statusCache = statusCache;
+        this.metrics = metrics;
+        this.singleCommit = idempotencyProperties.singleCommit();
     }
 
     public TransferStatus handleTransferRequest(UUID idempotencyKey, TransferRequestDto request) {
+        var start = System.nanoTime();
+        var status = TransferStatus.FAILED;
+        try {
+            status = handle(idempotencyKey, request);
+            return status;
+        } finally {
+            metrics.recordRequest(status, start);
+        }
+    }
+
+    private TransferStatus handle(UUID idempotencyKey, TransferRequestDto request) {
+        var cachedStatus = statusCache.lookup(idempotencyKey);
+        if (cachedStatus.isPresent()) {
+            metrics.countDuplicate();
+            return cachedStatus.get();
+        }
+        if (!statusCache.markInFlight(idempotencyKey)) {
+            metrics.countDuplicate();
+            return TransferStatus.PROCESSING;
+        }
+
+        try {
+            var status = process(idempotencyKey, request);
+            statusCache.record(idempotencyKey, status);
+            return status;
+        } finally {
+            statusCache.release(idempotencyKey);
+        }
+    }
+
+    private TransferStatus process(UUID idempotencyKey, TransferRequestDto request) {
+        var status = attempt(idempotencyKey, request);
+        if (status == TransferStatus.FAILED && idempotencyService.releaseExpiredFailure(idempotencyKey)) {
+            return attempt(idempotencyKey, request);
+        }
+        return status;
+    }
+
+    private TransferStatus attempt(UUID idempotencyKey, TransferRequestDto request) {
+        if (singleCommit && transferEngine instanceof IdempotentTransferEngine idempotentEngine) {
+            return processInSingleCommit(idempotentEngine, idempotencyKey, request);
+        }
+
+        var start = System.nanoTime();
         try {
             idempotencyService.reserve(idempotencyKey);
         } catch (DataIntegrityViolationException e) {
+            metrics.countDuplicate();
             return idempotencyService.getStatus(idempotencyKey).orElseThrow();
+        } finally {
+            metrics.record(TransferMetrics.Stage.IDEMPOTENCY, start);
         }
 
         try {
-            transferService.transfer(request.from(), request.to(), new Balance(request.amount(), request.currency()));
-            idempotencyService.updateStatus(idempotencyKey, TransferStatus.COMPLETED);
+            transferEngine.transfer(request.from(), request.to(), request.money());
+            updateStatus(idempotencyKey, TransferStatus.COMPLETED);
             return TransferStatus.COMPLETED;
         } catch (BadTransferRequestException e) {
-            idempotencyService.updateStatus(idempotencyKey, TransferStatus.BAD_REQUEST);
+            updateStatus(idempotencyKey, TransferStatus.BAD_REQUEST);
             return TransferStatus.BAD_REQUEST;
         } catch (Exception e) {
             log.debug(() -> String.format("Failed to transfer %s %s from %s to %s", request.amount(), request.currency(), request.from(), request.to()), e);
-            idempotencyService.updateStatus(idempotencyKey, TransferStatus.FAILED);
+            updateStatus(idempotencyKey, TransferStatus.FAILED);
             throw e;
         }
     }
 
+    private void updateStatus(UUID idempotencyKey, TransferStatus status) {
+        var start = System.nanoTime();
+        try {
+            idempotencyService.updateStatus(idempotencyKey, status);
+        } finally {
+            metrics.record(TransferMetrics.Stage.IDEMPOTENCY, start);
+        }
+    }
+
+    /**
+     * Commits the transfer together with the COMPLETED status of its key, instead of reserving the key in a separate
+     * transaction first. Concurrent duplicates on this instance are answered by the in-flight tracking of
+     * {@link IdempotencyStatusCache}; across instances the unique index lets only one of them commit, but the others
+     * are quoted and attempt the transfer instead of being told PROCESSING, which is why this mode is meant for a
+     * single instance. Nothing is committed for a key until its outcome is known, so a crash never leaves a key stuck
+     * in PROCESSING.
+     */
+    private TransferStatus processInSingleCommit(IdempotentTransferEngine engine, UUID idempotencyKey, TransferRequestDto request) {
+        try {
+            engine.transfer(idempotencyKey, request.from(), request.to(), request.money());
+            return TransferStatus.COMPLETED;
+        } catch (DataIntegrityViolationException e) {
+            var recordedStatus = idempotencyService.getStatus(idempotencyKey);
+            if (recordedStatus.isPresent()) {
+                metrics.countDuplicate();
+                return recordedStatus.get();
+            }
+            return fail(idempotencyKey, request, e);
+        } catch (BadTransferRequestException e) {
+            return recordOutcome(idempotencyKey, TransferStatus.BAD_REQUEST);
+        } catch (RuntimeException e) {
+            return fail(idempotencyKey, request, e);
+        }
+    }
+
+    private TransferStatus fail(UUID idempotencyKey, TransferRequestDto request, RuntimeException e) {
+        log.debug(() -> String.format("Failed to transfer %s %s from %s to %s", request.amount(), request.currency(), request.from(), request.to()), e);
+        var status = recordOutcome(idempotencyKey, TransferStatus.FAILED);
+        if (status != TransferStatus.FAILED) return status;
+        throw e;
+    }
+
+    private TransferStatus recordOutcome(UUID idempotencyKey, TransferStatus status) {
+        var start = System.nanoTime();
+        try {
+            idempotencyService.record(idempotencyKey, status);
+            return status;
+        } catch (DataIntegrityViolationException e) {
+            metrics.countDuplicate();
+            return idempotencyService.getStatus(idempotencyKey).orElseThrow();
+        } finally {
+            metrics.record(TransferMetrics.Stage.IDEMPOTENCY, start);
+        }
+    }
+
 }
@@ -0,0 +1,22 @@
+package com.example.global_payment_service.transfer;
+
+import com.example.global_payment_service.account.Money;
+
+import java.util.UUID;
+
+/**
+ * @param bucketedSender    whether the sender spread its credits over buckets when the transfer was quoted, so a debit
+ *                          may drain them
+ * @param bucketedRecipient whether the recipient spread its credits over buckets when the transfer was quoted, so it
+ *                          needn't be locked
+ */
+public record TransferQuote(
+        UUID fromId,
+        UUID toId,
+        Money balance,
+        Money balanceToDeduct,
+        Money balanceToAdd,
+        boolean bucketedSender,
+        boolean bucketedRecipient
+) {
+}
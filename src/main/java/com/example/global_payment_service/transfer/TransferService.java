@@ -1,34 +1,148 @@
 package com.example.global_payment_service.transfer;
 
-import com.example.global_payment_service.account.Balance;
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountBuckets;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.idempotency.IdempotencyService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
-public class TransferService {
+public class TransferService implements IdempotentTransferEngine, BatchTransferEngine {
 
     private final TransferValidatorService validatorService;
+    private final AccountRepository accountRepository;
     private final TransferRepository transferRepository;
+    private final RetryingTransactionExecutor transactionExecutor;
+    private final AccountLockManager accountLockManager;
+    private final AccountBuckets accountBuckets;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IdempotencyService idempotencyService;
+    private final TransferMetrics metrics;
 
-    public TransferService(TransferValidatorService validatorService, TransferRepository transferRepository) {
+    public TransferService(
+            TransferValidatorService validatorService,
+            AccountRepository accountRepository,
+            TransferRepository transferRepository,
+            RetryingTransactionExecutor transactionExecutor,
+            AccountLockManager accountLockManager,
+            AccountBuckets accountBuckets,
+            ApplicationEventPublisher eventPublisher,
+            IdempotencyService idempotencyService,
+            TransferMetrics metrics
+    ) {
         this.validatorService = validatorService;
+        this.accountRepository = accountRepository;
         this.transferRepository = transferRepository;
+        this.transactionExecutor = transactionExecutor;
+        this.accountLockManager = accountLockManager;
+        this.accountBuckets = accountBuckets;
+        this.eventPublisher = eventPublisher;
+        this.idempotencyService = idempotencyService;
+        this.metrics = metrics;
     }
 
-    @Transactional
-    public void transfer(@NonNull UUID fromId, @NonNull UUID toId, @NonNull Balance balance) {
-        var validationResult = validatorService.validate(fromId, toId, balance);
+    @Override
+    public void transfer(@NonNull UUID fromId, @NonNull UUID toId, @NonNull Money balance) {
+        var quote = validatorService.quote(fromId, toId, balance);
+        try (var locked = lock(quote)) {
+            transactionExecutor.execute(status -> commit(quote));
+        }
+    }
+
+    @Override
+    public void transfer(@NonNull UUID idempotencyKey, @NonNull UUID fromId, @NonNull UUID toId, @NonNull Money balance) {
+        var quote = validatorService.quote(fromId, toId, balance);
+        try (var locked = lock(quote)) {
+            transactionExecutor.execute(status -> {
+                var start = System.nanoTime();
+                idempotencyService.record(idempotencyKey, TransferStatus.COMPLETED);
+                metrics.record(TransferMetrics.Stage.IDEMPOTENCY, start);
+                commit(quote);
+            });
+        }
+    }
+
+    /**
+     * Locks all accounts of the chunk, loads them with one query and inserts the transfers with one batch.
+     */
+    @Override
+    public List<TransferStatus> transferChunk(@NonNull List<UUID> idempotencyKeys, @NonNull List<TransferQuote> quotes) {
+        var accountIds = new HashSet<UUID>();
+        quotes.forEach(quote -> {
+            accountIds.add(quote.fromId());
+            accountIds.add(quote.toId());
+        });
+
+        var statuses = new TransferStatus[quotes.size()];
+        try (var locked = accountLockManager.lock(accountIds)) {
+            transactionExecutor.execute(status -> applyChunk(idempotencyKeys, quotes, accountIds, statuses));
+        }
+        return Arrays.asList(statuses);
+    }
+
+    /**
+     * Bucketed recipients are credited without touching their account row, so only the sender needs to be locked. A
+     * bucketed sender may drain its buckets under row locks, though, and two bucketed accounts paying each other would
+     * then each hold their own buckets while crediting one of the other's, so both accounts are locked in that case.
+     */
+    private AccountLockManager.Locked lock(TransferQuote quote) {
+        if (quote.bucketedRecipient() && !quote.bucketedSender()) return accountLockManager.lock(List.of(quote.fromId()));
+        return accountLockManager.lock(quote.fromId(), quote.toId());
+    }
+
+    private void commit(TransferQuote quote) {
+        var validationResult = validatorService.validate(quote);
         var from = validationResult.from();
         var to = validationResult.to();
         var balanceToDeduct = validationResult.balanceToDeduct();
         var balanceToAdd = validationResult.balanceToAdd();
 
-        from.setBalance(from.getBalance().subtract(balanceToDeduct.amount()));
-        to.setBalance(to.getBalance().add(balanceToAdd.amount()));
+        var start = System.nanoTime();
+        from.debit(balanceToDeduct);
+        accountBuckets.credit(to, balanceToAdd);
+
+        var transfer = transferRepository.save(new Transfer(from, to, quote.balance()));
+        eventPublisher.publishEvent(TransferCompletedEvent.of(transfer));
+        metrics.record(TransferMetrics.Stage.BALANCE_UPDATE, start);
+    }
+
+    private void applyChunk(List<UUID> idempotencyKeys, List<TransferQuote> quotes, Set<UUID> accountIds, TransferStatus[] statuses) {
+        var accounts = new HashMap<UUID, Account>();
+        accountRepository.findAllById(accountIds).forEach(account -> accounts.put(account.getId(), account));
+
+        var transfers = new ArrayList<Transfer>(quotes.size());
+        var completedKeys = new ArrayList<UUID>();
+        var rejectedKeys = new ArrayList<UUID>();
+        for (int i = 0; i < quotes.size(); i++) {
+            var quote = quotes.get(i);
+            var from = accounts.get(quote.fromId());
+            var to = accounts.get(quote.toId());
+            if (from == null || to == null || !accountBuckets.canDebit(from, quote.balanceToDeduct())) {
+                statuses[i] = TransferStatus.BAD_REQUEST;
+                rejectedKeys.add(idempotencyKeys.get(i));
+                continue;
+            }
+
+            from.debit(quote.balanceToDeduct());
+            accountBuckets.credit(to, quote.balanceToAdd());
+            transfers.add(new Transfer(from, to, quote.balance()));
+            statuses[i] = TransferStatus.COMPLETED;
+            completedKeys.add(idempotencyKeys.get(i));
+        }
 
-        transferRepository.save(new Transfer(from, to, balance.amount(), balance.currency()));
+        transferRepository.saveAll(transfers).forEach(transfer -> eventPublisher.publishEvent(TransferCompletedEvent.of(transfer)));
+        idempotencyService.updateStatuses(completedKeys, TransferStatus.COMPLETED);
+        idempotencyService.updateStatuses(rejectedKeys, TransferStatus.BAD_REQUEST);
     }
 }
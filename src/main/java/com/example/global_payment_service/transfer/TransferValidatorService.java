@@ -1,52 +1,128 @@
 package com.example.global_payment_service.transfer;
 
 import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountBuckets;
+import com.example.global_payment_service.account.AccountCache;
+import com.example.global_payment_service.account.AccountProfile;
 import com.example.global_payment_service.account.AccountRepository;
-import com.example.global_payment_service.account.Balance;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.concurrent.FailFastTaskScope;
 import com.example.global_payment_service.transfer.exception.InsufficientFundsException;
+import com.example.global_payment_service.transfer.exception.InvalidAmountException;
 import com.example.global_payment_service.transfer.exception.NegativeTransferException;
 import com.example.global_payment_service.transfer.exception.UserDoesNotExistException;
 import com.example.global_payment_service.transfer.exchange.ExchangeService;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.UUID;
 
 @Service
 public class TransferValidatorService {
     private final AccountRepository accountRepository;
+    private final AccountCache accountCache;
+    private final AccountBuckets accountBuckets;
     private final ExchangeService exchangeService;
+    private final TransferMetrics metrics;
 
-    public TransferValidatorService(AccountRepository accountRepository, ExchangeService exchangeService) {
+    public TransferValidatorService(
+            AccountRepository accountRepository,
+            AccountCache accountCache,
+            AccountBuckets accountBuckets,
+            ExchangeService exchangeService,
+            TransferMetrics metrics
+    ) {
         this.accountRepository = accountRepository;
+        this.accountCache = accountCache;
+        this.accountBuckets = accountBuckets;
         this.exchangeService = exchangeService;
+        this.metrics = metrics;
     }
 
-    @Transactional()
-    public TransferValidationResult validate(UUID fromId, UUID toId, Balance balance) {
-        if (balance.amount().compareTo(BigDecimal.ZERO) < 0) {
+    /**
+     * Converts the transferred amount to the currencies of both accounts. Exchange rate lookups are slow, so this
+     * must be called outside any transaction. The sender and the recipient side are quoted concurrently, and if
+     * either of them fails the other one is cancelled. The sender's side is rounded up and the recipient's side down, and
+     * a positive amount that would still debit the sender nothing is rejected.
+     */
+    public TransferQuote quote(UUID fromId, UUID toId, Money balance) {
+        if (balance.isNegative()) {
             throw new NegativeTransferException("negative transfer");
         }
 
-        var from = validateAccountExists(fromId);
-        var to = validateAccountExists(toId);
+        try (var scope = new FailFastTaskScope()) {
+            var sender = scope.fork(() -> quoteSide(fromId, balance, ExchangeService.DEBIT_ROUNDING));
+            var recipient = scope.fork(() -> quoteSide(toId, balance, ExchangeService.CREDIT_ROUNDING));
+            scope.join();
 
-        var balanceToDeduct = exchangeService.exchangeTo(balance, from.getCurrency());
-        if (balanceToDeduct.amount().compareTo(from.getBalance()) > 0) {
+            var quotedSender = sender.get();
+            var quotedRecipient = recipient.get();
+            validateDebit(balance, quotedSender.amount());
+            return new TransferQuote(fromId, toId, balance, quotedSender.amount(), quotedRecipient.amount(),
+                    quotedSender.bucketed(), quotedRecipient.bucketed());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while quoting transfer", e);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public TransferValidationResult validate(TransferQuote quote) {
+        var start = System.nanoTime();
+        var from = loadAccount(quote.fromId());
+        var to = loadAccount(quote.toId());
+        metrics.record(TransferMetrics.Stage.ACCOUNT_LOAD, start);
+        if (from.getCurrency() != quote.balanceToDeduct().currency() || to.getCurrency() != quote.balanceToAdd().currency()) {
+            throw new IllegalStateException("Account currency changed since the transfer was quoted");
+        }
+
+        if (!accountBuckets.canDebit(from, quote.balanceToDeduct())) {
             throw new InsufficientFundsException("insufficient funds");
         }
 
-        var balanceToAdd = exchangeService.exchangeTo(balance, to.getCurrency());
+        return new TransferValidationResult(from, to, quote.balanceToDeduct(), quote.balanceToAdd());
+    }
+
+    public record TransferValidationResult(Account from, Account to, Money balanceToDeduct, Money balanceToAdd) {
+    }
 
-        return new TransferValidationResult(from, to, balanceToDeduct, balanceToAdd);
+    private record QuotedSide(Money amount, boolean bucketed) {
     }
 
-    public record TransferValidationResult(Account from, Account to, Balance balanceToDeduct, Balance balanceToAdd) {
+    private QuotedSide quoteSide(UUID accountId, Money balance, RoundingMode roundingMode) {
+        var profile = validateAccountExists(accountId);
+        return new QuotedSide(exchangeTo(balance, profile.currency(), roundingMode), profile.isBucketed());
+    }
+
+    private @NonNull Money exchangeTo(Money balance, Currency to, RoundingMode roundingMode) {
+        var start = System.nanoTime();
+        try {
+            return exchangeService.exchangeTo(balance, to, roundingMode);
+        } finally {
+            metrics.record(TransferMetrics.Stage.EXCHANGE, start);
+        }
+    }
+
+    private static void validateDebit(Money balance, Money balanceToDeduct) {
+        if (balance.amount() > 0 && balanceToDeduct.amount() == 0) {
+            throw new InvalidAmountException("amount " + balance + " is less than the smallest unit of " + balanceToDeduct.currency());
+        }
+    }
+
+    private @NonNull AccountProfile validateAccountExists(UUID id) {
+        var start = System.nanoTime();
+        try {
+            return accountCache.findProfile(id).orElseThrow(() -> new UserDoesNotExistException(id));
+        } finally {
+            metrics.record(TransferMetrics.Stage.ACCOUNT_LOOKUP, start);
+        }
     }
 
-    private @NonNull Account validateAccountExists(UUID id) {
+    private @NonNull Account loadAccount(UUID id) {
         return accountRepository.findById(id).orElseThrow(() -> new UserDoesNotExistException(id));
     }
 }
@@ -0,0 +1,12 @@
+package com.example.global_payment_service.transfer.api;
+
+import com.example.global_payment_service.account.Currency;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record BatchTransferItemDto(UUID idempotencyKey, UUID from, UUID to, BigDecimal amount, Currency currency) {
+    public TransferRequestDto toRequest() {
+        return new TransferRequestDto(from, to, amount, currency);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.global_payment_service.transfer.api;
+
+import com.example.global_payment_service.transfer.TransferStatus;
+
+import java.util.UUID;
+
+public record BatchTransferResultDto(UUID idempotencyKey, TransferStatus status) {
+}
@@ -1,10 +1,13 @@
 package com.example.global_payment_service.transfer.api;
 
+import com.example.global_payment_service.transfer.BatchTransferProperties;
+import com.example.global_payment_service.transfer.BatchTransferService;
 import com.example.global_payment_service.transfer.TransferOrchestratorService;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -12,9 +15,17 @@ import java.util.UUID;
 public class TransferController {
 
     private final TransferOrchestratorService transferOrchestratorService;
+    private final BatchTransferService batchTransferService;
+    private final BatchTransferProperties batchTransferProperties;
 
-    public TransferController(TransferOrchestratorService transferOrchestratorService) {
+    public TransferController(
+            TransferOrchestratorService transferOrchestratorService,
+            BatchTransferService batchTransferService,
+            BatchTransferProperties batchTransferProperties
+    ) {
         this.transferOrchestratorService = transferOrchestratorService;
+        this.batchTransferService = batchTransferService;
+        this.batchTransferProperties = batchTransferProperties;
     }
 
     @PostMapping
@@ -31,4 +42,12 @@ public class TransferController {
         };
     }
 
+    @PostMapping("/batch")
+    ResponseEntity<List<BatchTransferResultDto>> transferBatch(@RequestBody List<BatchTransferItemDto> items) {
+        if (items.size() > batchTransferProperties.maxItems()) {
+            return ResponseEntity.status(HttpStatusCode.valueOf(413)).build();
+        }
+        return ResponseEntity.ok(batchTransferService.handleBatch(items));
+    }
+
 }
@@ -1,9 +1,22 @@
 package com.example.global_payment_service.transfer.api;
 
 import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.exception.InvalidAmountException;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
 public record TransferRequestDto(UUID from, UUID to, BigDecimal amount, Currency currency) {
+
+    /**
+     * @throws InvalidAmountException if the amount has more decimal places than the currency allows, or is too large
+     */
+    public Money money() {
+        try {
+            return Money.of(amount, currency);
+        } catch (ArithmeticException e) {
+            throw new InvalidAmountException("invalid amount " + amount + " " + currency);
+        }
+    }
 }
@@ -0,0 +1,11 @@
+package com.example.global_payment_service.transfer.exception;
+
+public class ExchangeRateUnavailableException extends RuntimeException {
+    public ExchangeRateUnavailableException(String message) {
+        super(message);
+    }
+
+    public ExchangeRateUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
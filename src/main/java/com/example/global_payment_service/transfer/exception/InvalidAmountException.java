@@ -0,0 +1,7 @@
+package com.example.global_payment_service.transfer.exception;
+
+public class InvalidAmountException extends BadTransferRequestException {
+    public InvalidAmountException(String message) {
+        super(message);
+    }
+}
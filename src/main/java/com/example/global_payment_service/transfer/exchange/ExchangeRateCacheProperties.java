@@ -0,0 +1,20 @@
+package com.example.global_payment_service.transfer.exchange;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "exchange.cache")
+public record ExchangeRateCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("60s") Duration ttl,
+        @DefaultValue("10s") Duration refreshAhead,
+        @DefaultValue("5m") Duration maxStaleness
+) {
+    public ExchangeRateCacheProperties {
+        if (refreshAhead.compareTo(ttl) > 0) {
+            throw new IllegalArgumentException("exchange.cache.refresh-ahead must not be longer than exchange.cache.ttl");
+        }
+    }
+}
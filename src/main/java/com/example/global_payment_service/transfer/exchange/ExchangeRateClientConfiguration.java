@@ -0,0 +1,58 @@
+package com.example.global_payment_service.transfer.exchange;
+
+import com.example.global_payment_service.transfer.exchange.client.CachingExchangeRateClient;
+import com.example.global_payment_service.transfer.exchange.client.ExchangeRateClient;
+import com.example.global_payment_service.transfer.exchange.client.ExchangeRateMetrics;
+import com.example.global_payment_service.transfer.exchange.client.InstrumentedExchangeRateClient;
+import com.example.global_payment_service.transfer.exchange.client.MockExchangeRateClient;
+import com.example.global_payment_service.transfer.exchange.client.ResilientExchangeRateClient;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Clock;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties({ExchangeRateCacheProperties.class, ExchangeRateResilienceProperties.class, MockExchangeRateProperties.class})
+public class ExchangeRateClientConfiguration {
+
+    @Bean
+    public ExecutorService exchangeRateExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public ExchangeRateMetrics exchangeRateMetrics() {
+        return new ExchangeRateMetrics();
+    }
+
+    @Bean
+    @Primary
+    public ExchangeRateClient exchangeRateClient(
+            MockExchangeRateClient upstream,
+            ExchangeRateCacheProperties cacheProperties,
+            ExchangeRateResilienceProperties resilienceProperties,
+            ExecutorService exchangeRateExecutor,
+            ExchangeRateMetrics exchangeRateMetrics
+    ) {
+        ExchangeRateClient client = new InstrumentedExchangeRateClient(upstream, exchangeRateMetrics);
+        if (resilienceProperties.enabled()) {
+            client = new ResilientExchangeRateClient(client, exchangeRateExecutor, resilienceProperties);
+        }
+        if (cacheProperties.enabled()) {
+            client = new CachingExchangeRateClient(
+                    client,
+                    cacheProperties.ttl(),
+                    cacheProperties.refreshAhead(),
+                    cacheProperties.maxStaleness(),
+                    Clock.systemUTC(),
+                    exchangeRateExecutor,
+                    exchangeRateMetrics
+            );
+        }
+        return client;
+    }
+}
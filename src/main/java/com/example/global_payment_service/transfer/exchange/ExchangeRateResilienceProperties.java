@@ -0,0 +1,21 @@
+package com.example.global_payment_service.transfer.exchange;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "exchange.resilience")
+public record ExchangeRateResilienceProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2s") Duration latencyBudget,
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("50ms") Duration retryBackoff,
+        @DefaultValue("0.2") double retryBudgetRatio,
+        @DefaultValue("20") int retryBudgetReserve,
+        @DefaultValue("5") int failureThreshold,
+        @DefaultValue("10s") Duration openDuration,
+        @DefaultValue("true") boolean serveLastKnownGood,
+        @DefaultValue("1h") Duration lastKnownGoodMaxAge
+) {
+}
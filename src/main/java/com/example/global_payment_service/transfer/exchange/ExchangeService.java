@@ -1,29 +1,46 @@
 package com.example.global_payment_service.transfer.exchange;
 
-import com.example.global_payment_service.account.Balance;
 import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
 import com.example.global_payment_service.transfer.exchange.client.ExchangeRateClient;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 @Service
 public class ExchangeService {
 
+    /**
+     * The sender is never debited less than the value of the transfer, so any positive amount debits at least one
+     * minor unit.
+     */
+    public static final RoundingMode DEBIT_ROUNDING = RoundingMode.UP;
+    /**
+     * The recipient is never credited more than the value of the transfer.
+     */
+    public static final RoundingMode CREDIT_ROUNDING = RoundingMode.DOWN;
+
     private final ExchangeRateClient exchangeRateClient;
 
     public ExchangeService(ExchangeRateClient exchangeRateClient) {
         this.exchangeRateClient = exchangeRateClient;
     }
 
-    public @NonNull Balance exchangeTo(@NonNull Balance balance, @NonNull Currency to) {
-        var exchangeRate = getExchangeRate(balance.currency(), to);
-        var amount = exchangeRate.multiply(balance.amount());
-        return new Balance(amount, to);
+    public @NonNull Money exchangeTo(@NonNull Money balance, @NonNull Currency to, @NonNull RoundingMode roundingMode) {
+        return exchangeTo(balance, to, getExchangeRate(balance.currency(), to), roundingMode);
+    }
+
+    /**
+     * Converts to the minor unit of {@code to}. Use {@link #DEBIT_ROUNDING} for the amount taken from the sender and
+     * {@link #CREDIT_ROUNDING} for the amount given to the recipient, so that rounding never creates money.
+     */
+    public @NonNull Money exchangeTo(@NonNull Money balance, @NonNull Currency to, @NonNull BigDecimal exchangeRate, @NonNull RoundingMode roundingMode) {
+        return balance.convert(to, exchangeRate, roundingMode);
     }
 
-    private @NonNull BigDecimal getExchangeRate(@NonNull Currency from, @NonNull Currency to) {
+    public @NonNull BigDecimal getExchangeRate(@NonNull Currency from, @NonNull Currency to) {
         return exchangeRateClient.getExchangeRate(from, to);
     }
 }
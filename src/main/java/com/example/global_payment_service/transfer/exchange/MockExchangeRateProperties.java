@@ -0,0 +1,21 @@
+package com.example.global_payment_service.transfer.exchange;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "exchange.mock")
+public record MockExchangeRateProperties(
+        @DefaultValue("500ms") Duration latency,
+        @DefaultValue("0.1") double failureRate
+) {
+    public MockExchangeRateProperties {
+        if (latency.isNegative()) {
+            throw new IllegalArgumentException("exchange.mock.latency must not be negative");
+        }
+        if (failureRate < 0 || failureRate > 1) {
+            throw new IllegalArgumentException("exchange.mock.failure-rate must be between 0 and 1");
+        }
+    }
+}
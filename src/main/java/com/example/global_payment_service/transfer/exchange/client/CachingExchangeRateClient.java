@@ -0,0 +1,106 @@
+package com.example.global_payment_service.transfer.exchange.client;
+
+import com.example.global_payment_service.account.Currency;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.lang.NonNull;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Caches exchange rates per (from, to) pair in front of a slower {@link ExchangeRateClient}.
+ * <p>
+ * A cached rate is served as is until {@code ttl - refreshAhead}, after which a background refresh is started while
+ * the cached rate keeps being served. Once the rate is older than {@code ttl + maxStaleness} it is not served anymore
+ * and the caller loads it synchronously. Identity pairs never reach the delegate.
+ */
+@Log4j2
+public class CachingExchangeRateClient implements ExchangeRateClient {
+
+    private static final int CURRENCY_COUNT = Currency.values().length;
+
+    private final ExchangeRateClient delegate;
+    private final long refreshAfterMillis;
+    private final long expireAfterMillis;
+    private final Clock clock;
+    private final Executor refreshExecutor;
+    private final ExchangeRateMetrics metrics;
+
+    private final AtomicReferenceArray<CachedRate> rates = new AtomicReferenceArray<>(CURRENCY_COUNT * CURRENCY_COUNT);
+    private final AtomicIntegerArray refreshesInFlight = new AtomicIntegerArray(CURRENCY_COUNT * CURRENCY_COUNT);
+
+    public CachingExchangeRateClient(
+            ExchangeRateClient delegate,
+            Duration ttl,
+            Duration refreshAhead,
+            Duration maxStaleness,
+            Clock clock,
+            Executor refreshExecutor,
+            ExchangeRateMetrics metrics
+    ) {
+        this.delegate = delegate;
+        this.refreshAfterMillis = ttl.minus(refreshAhead).toMillis();
+        this.expireAfterMillis = ttl.plus(maxStaleness).toMillis();
+        this.clock = clock;
+        this.refreshExecutor = refreshExecutor;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public @NonNull BigDecimal getExchangeRate(@NonNull Currency from, @NonNull Currency to) {
+        if (from == to) return BigDecimal.ONE;
+
+        var index = index(from, to);
+        var cached = rates.get(index);
+        if (cached != null) {
+            var age = clock.millis() - cached.fetchedAtMillis();
+            if (age < refreshAfterMillis) {
+                metrics.cacheHit();
+                return cached.rate();
+            }
+            if (age < expireAfterMillis) {
+                metrics.staleHit();
+                refreshInBackground(index, from, to);
+                return cached.rate();
+            }
+        }
+        metrics.cacheMiss();
+        return load(index, from, to);
+    }
+
+    private BigDecimal load(int index, Currency from, Currency to) {
+        var rate = delegate.getExchangeRate(from, to);
+        rates.set(index, new CachedRate(rate, clock.millis()));
+        return rate;
+    }
+
+    private void refreshInBackground(int index, Currency from, Currency to) {
+        if (!refreshesInFlight.compareAndSet(index, 0, 1)) return;
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(index, from, to);
+                } catch (RuntimeException e) {
+                    log.debug(() -> String.format("Failed to refresh exchange rate from %s to %s", from, to), e);
+                } finally {
+                    refreshesInFlight.set(index, 0);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshesInFlight.set(index, 0);
+        }
+    }
+
+    private static int index(Currency from, Currency to) {
+        return from.ordinal() * CURRENCY_COUNT + to.ordinal();
+    }
+
+    private record CachedRate(BigDecimal rate, long fetchedAtMillis) {
+    }
+}
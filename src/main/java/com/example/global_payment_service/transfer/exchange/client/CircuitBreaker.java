@@ -0,0 +1,66 @@
+package com.example.global_payment_service.transfer.exchange.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAtNanos;
+
+    CircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Returns whether a call may be sent upstream. After the open period has elapsed exactly one caller is let through
+     * as a probe, whose outcome decides whether the breaker closes or opens again.
+     */
+    boolean tryAcquirePermission() {
+        return switch (state.get()) {
+            case CLOSED -> true;
+            case HALF_OPEN -> false;
+            case OPEN -> System.nanoTime() - openedAtNanos >= openNanos
+                    && state.compareAndSet(State.OPEN, State.HALF_OPEN);
+        };
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+        state.set(State.CLOSED);
+    }
+
+    void onFailure() {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Records that a permitted call was abandoned without an outcome, which says nothing about the upstream. A probe
+     * permission is handed back, so the next caller probes instead.
+     */
+    void onCancelled() {
+        state.compareAndSet(State.HALF_OPEN, State.OPEN);
+    }
+
+    State state() {
+        return state.get();
+    }
+
+    private void open() {
+        openedAtNanos = System.nanoTime();
+        consecutiveFailures.set(0);
+        state.set(State.OPEN);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.global_payment_service.transfer.exchange.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts how {@link CachingExchangeRateClient} answered lookups, and times the calls that reached the upstream API.
+ */
+public class ExchangeRateMetrics implements MeterBinder {
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+
+    private volatile Timer upstreamSuccesses;
+    private volatile Timer upstreamFailures;
+
+    void cacheHit() {
+        cacheHits.increment();
+    }
+
+    void staleHit() {
+        staleHits.increment();
+    }
+
+    void cacheMiss() {
+        cacheMisses.increment();
+    }
+
+    void upstreamCall(long durationNanos, boolean succeeded) {
+        var timer = succeeded ? upstreamSuccesses : upstreamFailures;
+        if (timer != null) timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        cacheRequests(registry, "hit", cacheHits);
+        cacheRequests(registry, "stale", staleHits);
+        cacheRequests(registry, "miss", cacheMisses);
+        upstreamSuccesses = upstreamTimer(registry, "success");
+        upstreamFailures = upstreamTimer(registry, "failure");
+    }
+
+    private static void cacheRequests(MeterRegistry registry, String result, LongAdder count) {
+        FunctionCounter.builder("exchange.cache.requests", count, LongAdder::sum)
+                .description("Exchange rate lookups by how the cache answered them; stale ones triggered a refresh")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private static Timer upstreamTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("exchange.upstream")
+                .description("Calls to the upstream exchange rate API")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.global_payment_service.transfer.exchange.client;
+
+import com.example.global_payment_service.account.Currency;
+import org.springframework.lang.NonNull;
+
+import java.math.BigDecimal;
+
+/**
+ * Times every call to the upstream {@link ExchangeRateClient}, retries included.
+ */
+public class InstrumentedExchangeRateClient implements ExchangeRateClient {
+
+    private final ExchangeRateClient delegate;
+    private final ExchangeRateMetrics metrics;
+
+    public InstrumentedExchangeRateClient(ExchangeRateClient delegate, ExchangeRateMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public @NonNull BigDecimal getExchangeRate(@NonNull Currency from, @NonNull Currency to) {
+        var start = System.nanoTime();
+        try {
+            var rate = delegate.getExchangeRate(from, to);
+            metrics.upstreamCall(System.nanoTime() - start, true);
+            return rate;
+        } catch (RuntimeException e) {
+            metrics.upstreamCall(System.nanoTime() - start, false);
+            throw e;
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package com.example.global_payment_service.transfer.exchange.client;
 
 import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.transfer.exchange.MockExchangeRateProperties;
 import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpServerErrorException;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Random;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class MockExchangeRateClient implements ExchangeRateClient {
@@ -16,18 +19,31 @@ public class MockExchangeRateClient implements ExchangeRateClient {
     private static final BigDecimal HUF_PER_EUR = new BigDecimal("379.08");
     private static final BigDecimal HUF_PER_USD = new BigDecimal("322.13");
 
+    private final Duration latency;
+    private final double failureRate;
+
+    public MockExchangeRateClient() {
+        this(new MockExchangeRateProperties(Duration.ofMillis(500), 0.1));
+    }
+
+    @Autowired
+    public MockExchangeRateClient(MockExchangeRateProperties properties) {
+        this.latency = properties.latency();
+        this.failureRate = properties.failureRate();
+    }
+
     @Override
     public @NonNull BigDecimal getExchangeRate(@NonNull Currency from, @NonNull Currency to) {
         var serviceUnavailableException = HttpServerErrorException.create("Service unavailable", HttpStatusCode.valueOf(503), "Service unavailable", null, null, null);
         try {
             // Simulate latency of the API
-            Thread.sleep(500);
+            if (latency.isPositive()) Thread.sleep(latency);
         } catch (InterruptedException e) {
             throw serviceUnavailableException;
         }
 
         // Simulate "flakiness" of the API
-        if (new Random().nextDouble() < 0.1) throw serviceUnavailableException;
+        if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) throw serviceUnavailableException;
 
         if (from.equals(to)) return BigDecimal.ONE;
         return getExchangeRateToHuf(from).divide(getExchangeRateToHuf(to), 10, RoundingMode.HALF_UP);
@@ -0,0 +1,174 @@
+package com.example.global_payment_service.transfer.exchange.client;
+
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.transfer.exception.ExchangeRateUnavailableException;
+import com.example.global_payment_service.transfer.exchange.ExchangeRateResilienceProperties;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.lang.NonNull;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Protects callers from a slow or flaky {@link ExchangeRateClient}.
+ * <ul>
+ *     <li>Concurrent lookups of the same pair share a single upstream call. The call runs on the executor rather than
+ *     on the caller that started it, so an interrupted caller stops waiting without failing the call for the
+ *     others.</li>
+ *     <li>Failed calls are retried within a per-call latency budget and a global retry budget.</li>
+ *     <li>A circuit breaker stops calling the upstream after consecutive failures, serving the last known good rate
+ *     (if it is recent enough) or failing fast in the meantime.</li>
+ * </ul>
+ */
+@Log4j2
+public class ResilientExchangeRateClient implements ExchangeRateClient {
+
+    private final ExchangeRateClient delegate;
+    private final ExecutorService executor;
+    private final long latencyBudgetNanos;
+    private final int maxAttempts;
+    private final long retryBackoffNanos;
+    private final boolean serveLastKnownGood;
+    private final long lastKnownGoodMaxAgeNanos;
+    private final RetryBudget retryBudget;
+    private final CircuitBreaker circuitBreaker;
+
+    private final ConcurrentMap<CurrencyPair, CompletableFuture<BigDecimal>> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentMap<CurrencyPair, KnownRate> lastKnownGood = new ConcurrentHashMap<>();
+
+    public ResilientExchangeRateClient(
+            ExchangeRateClient delegate,
+            ExecutorService executor,
+            ExchangeRateResilienceProperties properties
+    ) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.latencyBudgetNanos = properties.latencyBudget().toNanos();
+        this.maxAttempts = properties.maxAttempts();
+        this.retryBackoffNanos = properties.retryBackoff().toNanos();
+        this.serveLastKnownGood = properties.serveLastKnownGood();
+        this.lastKnownGoodMaxAgeNanos = properties.lastKnownGoodMaxAge().toNanos();
+        this.retryBudget = new RetryBudget(properties.retryBudgetRatio(), properties.retryBudgetReserve());
+        this.circuitBreaker = new CircuitBreaker(properties.failureThreshold(), properties.openDuration());
+    }
+
+    @Override
+    public @NonNull BigDecimal getExchangeRate(@NonNull Currency from, @NonNull Currency to) {
+        var pair = new CurrencyPair(from, to);
+        var call = new CompletableFuture<BigDecimal>();
+        var existing = inFlight.putIfAbsent(pair, call);
+        if (existing != null) return awaitSharedCall(existing);
+
+        try {
+            CompletableFuture.supplyAsync(() -> fetch(pair), executor).whenComplete((rate, failure) -> {
+                inFlight.remove(pair, call);
+                if (failure == null) {
+                    call.complete(rate);
+                } else {
+                    call.completeExceptionally(failure instanceof CompletionException e ? e.getCause() : failure);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(pair, call);
+            call.completeExceptionally(new ExchangeRateUnavailableException("Exchange rate lookup was rejected", e));
+        }
+        return awaitSharedCall(call);
+    }
+
+    CircuitBreaker.State circuitBreakerState() {
+        return circuitBreaker.state();
+    }
+
+    private BigDecimal fetch(CurrencyPair pair) {
+        var deadline = System.nanoTime() + latencyBudgetNanos;
+        retryBudget.onCall();
+
+        RuntimeException failure = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            var remaining = deadline - System.nanoTime();
+            if (remaining <= 0) break;
+            if (attempt > 1 && !retryBudget.tryAcquireRetry()) break;
+            if (!circuitBreaker.tryAcquirePermission()) break;
+
+            try {
+                var rate = callUpstream(pair, remaining);
+                circuitBreaker.onSuccess();
+                lastKnownGood.put(pair, new KnownRate(rate, System.nanoTime()));
+                return rate;
+            } catch (InterruptedException e) {
+                circuitBreaker.onCancelled();
+                Thread.currentThread().interrupt();
+                throw new ExchangeRateUnavailableException("Interrupted while waiting for exchange rate", e);
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                failure = e;
+            }
+
+            if (deadline - System.nanoTime() <= retryBackoffNanos) break;
+            LockSupport.parkNanos(retryBackoffNanos);
+        }
+
+        return fallback(pair, failure);
+    }
+
+    private BigDecimal callUpstream(CurrencyPair pair, long timeoutNanos) throws InterruptedException {
+        var future = executor.submit(() -> delegate.getExchangeRate(pair.from(), pair.to()));
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new ExchangeRateUnavailableException("Exchange rate lookup failed", e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ExchangeRateUnavailableException("Exchange rate lookup exceeded its latency budget", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            throw e;
+        }
+    }
+
+    private BigDecimal fallback(CurrencyPair pair, RuntimeException failure) {
+        if (serveLastKnownGood) {
+            var known = lastKnownGood.get(pair);
+            if (known != null && System.nanoTime() - known.fetchedAtNanos() <= lastKnownGoodMaxAgeNanos) {
+                log.debug(() -> String.format("Serving last known good exchange rate from %s to %s", pair.from(), pair.to()), failure);
+                return known.rate();
+            }
+        }
+
+        if (failure == null) {
+            throw new ExchangeRateUnavailableException(String.format("Exchange rate from %s to %s is unavailable", pair.from(), pair.to()));
+        }
+        throw new ExchangeRateUnavailableException(String.format("Exchange rate from %s to %s is unavailable", pair.from(), pair.to()), failure);
+    }
+
+    /**
+     * Waits for a shared call. An interrupt only stops this caller from waiting; the call goes on for the others.
+     */
+    private static BigDecimal awaitSharedCall(CompletableFuture<BigDecimal> call) {
+        try {
+            return call.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new ExchangeRateUnavailableException("Exchange rate lookup failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExchangeRateUnavailableException("Interrupted while waiting for exchange rate", e);
+        }
+    }
+
+    private record CurrencyPair(Currency from, Currency to) {
+    }
+
+    private record KnownRate(BigDecimal rate, long fetchedAtNanos) {
+    }
+}
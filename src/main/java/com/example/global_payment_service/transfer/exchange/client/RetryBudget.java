@@ -0,0 +1,39 @@
+package com.example.global_payment_service.transfer.exchange.client;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket limiting retries to a fraction of the calls made, so that retries cannot multiply the load on an
+ * upstream that is already struggling.
+ */
+class RetryBudget {
+
+    private static final long TOKENS_PER_RETRY = 1_000;
+
+    private final long depositPerCall;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    RetryBudget(double retryRatio, int reservedRetries) {
+        this.depositPerCall = Math.round(retryRatio * TOKENS_PER_RETRY);
+        this.maxBalance = reservedRetries * TOKENS_PER_RETRY;
+        this.balance = new AtomicLong(maxBalance);
+    }
+
+    void onCall() {
+        long current;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) return;
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + depositPerCall)));
+    }
+
+    boolean tryAcquireRetry() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < TOKENS_PER_RETRY) return false;
+        } while (!balance.compareAndSet(current, current - TOKENS_PER_RETRY));
+        return true;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.global_payment_service.transfer.feed;
+
+import com.example.global_payment_service.transfer.TransferCompletedEvent;
+
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer, multi-consumer buffer of the most recent events, addressed by a sequence number that grows
+ * forever. Producers never wait: they claim a sequence, store the event into its slot (overwriting the event that was
+ * published {@code capacity} sequences earlier) and wake the readers up. Every reader keeps its own position, so a
+ * slow reader cannot hold back the producers or the other readers; it only notices that it has been lapped.
+ */
+class TransferEventRingBuffer {
+
+    record Entry(long sequence, TransferCompletedEvent event) {
+    }
+
+    private final int mask;
+    private final AtomicReferenceArray<Entry> slots;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final Phaser published = new Phaser(1);
+
+    TransferEventRingBuffer(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive");
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    long publish(TransferCompletedEvent event) {
+        long sequence = nextSequence.getAndIncrement();
+        var entry = new Entry(sequence, event);
+        int index = (int) (sequence & mask);
+        Entry current;
+        do {
+            current = slots.get(index);
+            // a producer stalled between claiming and storing must not overwrite a newer event
+            if (current != null && current.sequence() > sequence) break;
+        } while (!slots.compareAndSet(index, current, entry));
+        published.arrive();
+        return sequence;
+    }
+
+    /**
+     * @return the sequence the next published event will get
+     */
+    long nextSequence() {
+        return nextSequence.get();
+    }
+
+    /**
+     * @return the oldest sequence that may still be read
+     */
+    long oldestSequence() {
+        return Math.max(0, nextSequence.get() - capacity());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the slot of {@code sequence}. The entry is the requested event if its sequence matches, has a greater
+     * sequence if the requested event has already been overwritten, and is {@code null} or has a smaller sequence if
+     * the requested event has not been published yet.
+     */
+    Entry read(long sequence) {
+        return slots.get((int) (sequence & mask));
+    }
+
+    /**
+     * @return a token to pass to {@link #awaitPublished} after finding nothing new to read
+     */
+    int publishedPhase() {
+        return published.getPhase();
+    }
+
+    /**
+     * Waits until an event is published after {@code phase} was taken, or the timeout elapses.
+     *
+     * @return {@code false} if the timeout elapsed
+     */
+    boolean awaitPublished(int phase, long timeout, TimeUnit unit) throws InterruptedException {
+        try {
+            published.awaitAdvanceInterruptibly(phase, timeout, unit);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.global_payment_service.transfer.feed;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TransferFeedProperties.class)
+public class TransferFeedConfiguration {
+}
@@ -0,0 +1,15 @@
+package com.example.global_payment_service.transfer.feed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "transfer.feed")
+public record TransferFeedProperties(
+        @DefaultValue("65536") int capacity,
+        @DefaultValue("256") int maxSubscribers,
+        @DefaultValue("15s") Duration heartbeat,
+        @DefaultValue("30m") Duration connectionLifetime
+) {
+}
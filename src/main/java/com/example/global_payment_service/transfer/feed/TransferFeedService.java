@@ -0,0 +1,112 @@
+package com.example.global_payment_service.transfer.feed;
+
+import com.example.global_payment_service.transfer.TransferCompletedEvent;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed transfers to Server-Sent Events subscribers. Every subscriber is served by its own virtual thread
+ * that follows the ring buffer at its own pace; a subscriber that falls more than the buffer's capacity behind is sent
+ * an {@code overrun} event and disconnected, and can resume with {@code Last-Event-ID}.
+ */
+@Log4j2
+@Service
+public class TransferFeedService {
+
+    static final String TRANSFER_EVENT = "transfer";
+    static final String GAP_EVENT = "gap";
+    static final String OVERRUN_EVENT = "overrun";
+
+    private final TransferEventRingBuffer ringBuffer;
+    private final TransferFeedProperties properties;
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    public TransferFeedService(TransferFeedProperties properties) {
+        this.ringBuffer = new TransferEventRingBuffer(properties.capacity());
+        this.properties = properties;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        ringBuffer.publish(event);
+    }
+
+    /**
+     * Subscribes to the transfers committed after the one with sequence {@code lastEventId}, or to the transfers
+     * committed from now on if it is {@code null}. If the requested events are no longer buffered, a {@code gap} event
+     * carrying the first available sequence is sent before them.
+     *
+     * @return empty if the maximum number of subscribers is reached
+     */
+    public Optional<SseEmitter> subscribe(@Nullable Long lastEventId) {
+        if (subscribers.incrementAndGet() > properties.maxSubscribers()) {
+            subscribers.decrementAndGet();
+            return Optional.empty();
+        }
+
+        var emitter = new SseEmitter(properties.connectionLifetime().toMillis());
+        var closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+
+        var start = lastEventId == null ? ringBuffer.nextSequence() : lastEventId + 1;
+        Thread.ofVirtual().name("transfer-feed-subscriber").start(() -> {
+            try {
+                stream(emitter, start, closed);
+            } finally {
+                subscribers.decrementAndGet();
+            }
+        });
+        return Optional.of(emitter);
+    }
+
+    private void stream(SseEmitter emitter, long start, AtomicBoolean closed) {
+        try {
+            long next = start;
+            if (next < ringBuffer.oldestSequence() || next > ringBuffer.nextSequence()) {
+                next = Math.max(ringBuffer.oldestSequence(), Math.min(next, ringBuffer.nextSequence()));
+                emitter.send(SseEmitter.event().name(GAP_EVENT).data(next));
+            }
+
+            while (!closed.get()) {
+                int phase = ringBuffer.publishedPhase();
+                var entry = ringBuffer.read(next);
+                if (entry != null && entry.sequence() == next) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(next))
+                            .name(TRANSFER_EVENT)
+                            .data(entry.event(), MediaType.APPLICATION_JSON));
+                    next++;
+                } else if (entry != null && entry.sequence() > next) {
+                    emitter.send(SseEmitter.event().name(OVERRUN_EVENT).data(next));
+                    emitter.complete();
+                    return;
+                } else if (!ringBuffer.awaitPublished(phase, properties.heartbeat().toMillis(), TimeUnit.MILLISECONDS)) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Transfer feed subscriber disconnected", e);
+            emitter.completeWithError(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        }
+    }
+
+    TransferEventRingBuffer ringBuffer() {
+        return ringBuffer;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.global_payment_service.transfer.feed.api;
+
+import com.example.global_payment_service.transfer.feed.TransferFeedService;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("api/transfers")
+public class TransferFeedController {
+
+    private final TransferFeedService feedService;
+
+    public TransferFeedController(TransferFeedService feedService) {
+        this.feedService = feedService;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return feedService.subscribe(lastEventId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatusCode.valueOf(503)).build());
+    }
+}
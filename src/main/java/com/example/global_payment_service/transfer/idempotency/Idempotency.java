@@ -1,17 +1,21 @@
 package com.example.global_payment_service.transfer.idempotency;
 
 import com.example.global_payment_service.transfer.TransferStatus;
+import com.example.global_payment_service.persistence.TimeOrderedUuid;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_idempotency_created_at", columnList = "created_at"))
 public class Idempotency {
 
     public Idempotency(UUID idempotencyKey, TransferStatus status) {
@@ -20,7 +24,7 @@ public class Idempotency {
     }
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @TimeOrderedUuid
     private UUID id;
 
     @Column(unique = true, nullable = false)
@@ -28,4 +32,8 @@ public class Idempotency {
 
     @Column(nullable = false)
     private TransferStatus status;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
 }
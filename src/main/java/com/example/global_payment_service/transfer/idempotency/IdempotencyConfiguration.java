@@ -0,0 +1,17 @@
+package com.example.global_payment_service.transfer.idempotency;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties({IdempotencyProperties.class, IdempotencyCacheProperties.class})
+public class IdempotencyConfiguration {
+
+    @Bean
+    public IdempotencyStatusCache idempotencyStatusCache(IdempotencyCacheProperties properties) {
+        return new IdempotencyStatusCache(properties);
+    }
+}
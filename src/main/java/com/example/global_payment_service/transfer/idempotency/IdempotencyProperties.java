@@ -0,0 +1,25 @@
+package com.example.global_payment_service.transfer.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param singleCommit    record the final status of a key in the transaction of the transfer instead of reserving it
+ *                        up front, if the transfer engine supports it; only safe with a single instance, since a
+ *                        duplicate arriving at another instance meanwhile is not told PROCESSING
+ * @param retention       how long a key is remembered; expired keys are purged and can be reused
+ * @param purgeInterval   delay between two purge runs
+ * @param purgeBatchSize  rows deleted per purge transaction
+ * @param purgeMaxBatches purge transactions per run
+ */
+@ConfigurationProperties(prefix = "transfer.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("false") boolean singleCommit,
+        @DefaultValue("7d") Duration retention,
+        @DefaultValue("1m") Duration purgeInterval,
+        @DefaultValue("1000") int purgeBatchSize,
+        @DefaultValue("100") int purgeMaxBatches
+) {
+}
@@ -0,0 +1,88 @@
+package com.example.global_payment_service.transfer.idempotency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.data.domain.Limit;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes idempotency keys older than the retention window. Each batch is deleted in its own short transaction, so the
+ * purge never holds locks for long, and a run stops after a bounded number of batches to leave room for regular
+ * traffic; a backlog is worked off over the following runs.
+ */
+@Log4j2
+@Component
+public class IdempotencyPurgeJob implements MeterBinder {
+
+    private final IdempotencyRepository idempotencyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyProperties properties;
+    private final AtomicLong records = new AtomicLong(-1);
+
+    private volatile Counter purged;
+
+    public IdempotencyPurgeJob(
+            IdempotencyRepository idempotencyRepository,
+            TransactionTemplate transactionTemplate,
+            IdempotencyProperties properties
+    ) {
+        this.idempotencyRepository = idempotencyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    @Scheduled(
+            initialDelayString = "${transfer.idempotency.purge-interval:1m}",
+            fixedDelayString = "${transfer.idempotency.purge-interval:1m}"
+    )
+    public void run() {
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge expired idempotency keys", e);
+        }
+    }
+
+    /**
+     * @return the number of keys deleted
+     */
+    public int purge() {
+        var cutoff = Instant.now().minus(properties.retention());
+        int total = 0;
+        for (int batch = 0; batch < properties.purgeMaxBatches(); batch++) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                var ids = idempotencyRepository.findIdsCreatedBefore(cutoff, Limit.of(properties.purgeBatchSize()));
+                idempotencyRepository.deleteAllByIdInBatch(ids);
+                return ids.size();
+            });
+            if (deleted == null || deleted == 0) break;
+
+            total += deleted;
+            var counter = purged;
+            if (counter != null) counter.increment(deleted);
+            if (deleted < properties.purgeBatchSize()) break;
+        }
+
+        records.set(idempotencyRepository.estimateCount().orElse(-1L));
+        return total;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        purged = Counter.builder("idempotency.purged")
+                .description("Expired idempotency keys deleted")
+                .register(registry);
+        Gauge.builder("idempotency.records", records, count -> count.get() < 0 ? Double.NaN : count.get())
+                .description("Idempotency keys stored, as estimated by the database after the last purge run")
+                .register(registry);
+    }
+}
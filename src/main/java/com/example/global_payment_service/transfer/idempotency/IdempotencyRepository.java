@@ -1,11 +1,15 @@
 package com.example.global_payment_service.transfer.idempotency;
 
 import com.example.global_payment_service.transfer.TransferStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,8 +18,28 @@ public interface IdempotencyRepository extends JpaRepository<Idempotency, UUID>
 
     Optional<Idempotency> findByIdempotencyKey(UUID idempotencyKey);
 
+    List<Idempotency> findAllByIdempotencyKeyIn(Collection<UUID> idempotencyKeys);
+
     @Modifying(clearAutomatically = true)
     @Query("update Idempotency i set i.status = :status where i.idempotencyKey = :idempotencyKey")
     void setStatusWhereIdempotencyKey(TransferStatus status, UUID idempotencyKey);
 
+    @Modifying
+    @Query("update Idempotency i set i.status = :status where i.idempotencyKey in :idempotencyKeys")
+    void setStatusWhereIdempotencyKeyIn(TransferStatus status, Collection<UUID> idempotencyKeys);
+
+    @Query("select i.id from Idempotency i where i.createdAt < :cutoff order by i.createdAt")
+    List<UUID> findIdsCreatedBefore(Instant cutoff, Limit limit);
+
+    @Modifying
+    @Query("delete from Idempotency i where i.idempotencyKey = :idempotencyKey and i.status = :status and i.createdAt < :cutoff")
+    int deleteWhereIdempotencyKeyAndStatusCreatedBefore(UUID idempotencyKey, TransferStatus status, Instant cutoff);
+
+    /**
+     * The row count the database keeps in its catalog, which is read without scanning the table. Specific to H2;
+     * other databases have their own estimate, such as {@code pg_class.reltuples} on PostgreSQL.
+     */
+    @Query(value = "select row_count_estimate from information_schema.tables where table_schema = current_schema and table_name = 'IDEMPOTENCY'", nativeQuery = true)
+    Optional<Long> estimateCount();
+
 }
@@ -5,16 +5,22 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class IdempotencyService {
 
     private final IdempotencyRepository idempotencyRepository;
+    private final IdempotencyProperties properties;
 
-    public IdempotencyService(IdempotencyRepository idempotencyRepository) {
+    public IdempotencyService(IdempotencyRepository idempotencyRepository, IdempotencyProperties properties) {
         this.idempotencyRepository = idempotencyRepository;
+        this.properties = properties;
     }
 
     @Transactional(propagation = Propagation.REQUIRES_NEW)
@@ -22,15 +28,57 @@ public class IdempotencyService {
         idempotencyRepository.saveAndFlush(new Idempotency(idempotencyKey, TransferStatus.PROCESSING));
     }
 
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void reserveAll(Collection<UUID> idempotencyKeys) {
+        idempotencyRepository.saveAllAndFlush(
+                idempotencyKeys.stream().map(key -> new Idempotency(key, TransferStatus.PROCESSING)).toList()
+        );
+    }
+
+    /**
+     * Inserts a key that was never reserved with its final status, as part of the caller's transaction if there is
+     * one. Fails with {@link org.springframework.dao.DataIntegrityViolationException} if the key already exists.
+     */
+    @Transactional
+    public void record(UUID idempotencyKey, TransferStatus status) {
+        idempotencyRepository.saveAndFlush(new Idempotency(idempotencyKey, status));
+    }
+
     @Transactional(readOnly = true)
     public Optional<TransferStatus> getStatus(UUID idempotencyKey) {
         return idempotencyRepository.findByIdempotencyKey(idempotencyKey)
                 .map(Idempotency::getStatus);
     }
 
+    @Transactional(readOnly = true)
+    public Map<UUID, TransferStatus> getStatuses(Collection<UUID> idempotencyKeys) {
+        return idempotencyRepository.findAllByIdempotencyKeyIn(idempotencyKeys).stream()
+                .collect(Collectors.toMap(Idempotency::getIdempotencyKey, Idempotency::getStatus));
+    }
+
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void updateStatus(UUID idempotencyKey, TransferStatus status) {
         idempotencyRepository.setStatusWhereIdempotencyKey(status, idempotencyKey);
     }
 
+    /**
+     * Forgets a FAILED key whose retention has expired, so that it can be retried.
+     *
+     * @return whether the key was forgotten
+     */
+    @Transactional
+    public boolean releaseExpiredFailure(UUID idempotencyKey) {
+        var cutoff = Instant.now().minus(properties.retention());
+        return idempotencyRepository.deleteWhereIdempotencyKeyAndStatusCreatedBefore(idempotencyKey, TransferStatus.FAILED, cutoff) > 0;
+    }
+
+    /**
+     * Updates the status of several keys, as part of the caller's transaction if there is one.
+     */
+    @Transactional
+    public void updateStatuses(Collection<UUID> idempotencyKeys, TransferStatus status) {
+        if (idempotencyKeys.isEmpty()) return;
+        idempotencyRepository.setStatusWhereIdempotencyKeyIn(status, idempotencyKeys);
+    }
+
 }
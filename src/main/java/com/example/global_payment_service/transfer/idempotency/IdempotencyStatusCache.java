@@ -0,0 +1,74 @@
+package com.example.global_payment_service.transfer.idempotency;
+
+import com.example.global_payment_service.transfer.TransferStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.lang.NonNull;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers replayed requests without a database round trip. Keys that reached a status that can never change again are
+ * cached with size and time based eviction, and keys being processed by this instance are tracked so concurrent
+ * duplicates can be told {@link TransferStatus#PROCESSING} right away. FAILED keys are never cached, because they may
+ * be retried.
+ */
+public class IdempotencyStatusCache implements MeterBinder {
+
+    private final boolean enabled;
+    private final Cache<UUID, TransferStatus> terminalStatuses;
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    public IdempotencyStatusCache(IdempotencyCacheProperties properties) {
+        this.enabled = properties.enabled();
+        this.terminalStatuses = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+    }
+
+    public Optional<TransferStatus> lookup(UUID idempotencyKey) {
+        if (inFlight.contains(idempotencyKey)) return Optional.of(TransferStatus.PROCESSING);
+        if (!enabled) return Optional.empty();
+        return Optional.ofNullable(terminalStatuses.getIfPresent(idempotencyKey));
+    }
+
+    /**
+     * @return {@code false} if the key is already being processed by this instance
+     */
+    public boolean markInFlight(UUID idempotencyKey) {
+        return inFlight.add(idempotencyKey);
+    }
+
+    /**
+     * Records the committed status of a key. Must be called before {@link #release} so that no lookup in between falls
+     * through to the database.
+     */
+    public void record(UUID idempotencyKey, TransferStatus status) {
+        if (enabled && isTerminal(status)) terminalStatuses.put(idempotencyKey, status);
+    }
+
+    public void release(UUID idempotencyKey) {
+        inFlight.remove(idempotencyKey);
+    }
+
+    private static boolean isTerminal(TransferStatus status) {
+        return status == TransferStatus.COMPLETED || status == TransferStatus.BAD_REQUEST;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, terminalStatuses, "idempotency.status");
+        Gauge.builder("idempotency.in.flight", inFlight, Set::size)
+                .description("Idempotency keys currently being processed by this instance")
+                .register(registry);
+    }
+}
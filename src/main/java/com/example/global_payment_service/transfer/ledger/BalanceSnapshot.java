@@ -0,0 +1,58 @@
+package com.example.global_payment_service.transfer.ledger;
+
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The balance of an account including every ledger entry created before {@link #coveredUntil}.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+public class BalanceSnapshot {
+
+    public BalanceSnapshot(UUID accountId, Money balance, Instant coveredUntil) {
+        this.accountId = accountId;
+        this.balance = balance.amount();
+        this.currency = balance.currency();
+        this.coveredUntil = coveredUntil;
+    }
+
+    @Id
+    @Column(name = "account_id")
+    private UUID accountId;
+
+    /**
+     * In minor units of {@link #currency}.
+     */
+    @Column(nullable = false)
+    private long balance;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Currency currency;
+
+    @Column(name = "covered_until", nullable = false)
+    private Instant coveredUntil;
+
+    @Version
+    private Long version;
+
+    public Money getBalance() {
+        return new Money(balance, currency);
+    }
+
+    /**
+     * @param delta the sum of the entries created in {@code [coveredUntil, until)}, in minor units
+     */
+    public void advance(long delta, Instant until) {
+        balance = Math.addExact(balance, delta);
+        coveredUntil = until;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.global_payment_service.transfer.ledger;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.Money;
+
+import java.time.Instant;
+
+/**
+ * Derives balances from the ledger. An account's own balance column holds its opening balance, which counts as the
+ * snapshot of accounts that have none yet.
+ */
+public class LedgerBalances {
+
+    private final BalanceSnapshotRepository snapshotRepository;
+    private final LedgerEntryRepository entryRepository;
+
+    public LedgerBalances(BalanceSnapshotRepository snapshotRepository, LedgerEntryRepository entryRepository) {
+        this.snapshotRepository = snapshotRepository;
+        this.entryRepository = entryRepository;
+    }
+
+    /**
+     * Reads the snapshot of the account and adds the entries created since. The snapshot is read first, so a snapshot
+     * committed in between is never combined with entries it already includes.
+     */
+    public Money balanceOf(Account account) {
+        var snapshot = snapshotRepository.findById(account.getId());
+        var base = snapshot.map(BalanceSnapshot::getBalance).orElseGet(account::getBalance);
+        var since = snapshot.map(BalanceSnapshot::getCoveredUntil).orElse(Instant.EPOCH);
+        return base.plus(new Money(entryRepository.sumSince(account.getId(), since), base.currency()));
+    }
+}
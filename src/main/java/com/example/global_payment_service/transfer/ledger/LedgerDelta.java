@@ -0,0 +1,9 @@
+package com.example.global_payment_service.transfer.ledger;
+
+import java.util.UUID;
+
+/**
+ * The sum of some ledger entries of an account, in minor units.
+ */
+public record LedgerDelta(UUID accountId, Long amount) {
+}
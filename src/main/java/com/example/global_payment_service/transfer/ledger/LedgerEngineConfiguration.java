@@ -0,0 +1,77 @@
+package com.example.global_payment_service.transfer.ledger;
+
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.transfer.AccountLockManager;
+import com.example.global_payment_service.transfer.TransferCommitDeadline;
+import com.example.global_payment_service.transfer.TransferCommitProperties;
+import com.example.global_payment_service.transfer.TransferMetrics;
+import com.example.global_payment_service.transfer.TransferRepository;
+import com.example.global_payment_service.transfer.TransferValidatorService;
+import com.example.global_payment_service.transfer.idempotency.IdempotencyService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@ConditionalOnProperty(name = "transfer.engine", havingValue = "ledger")
+@EnableConfigurationProperties(LedgerProperties.class)
+public class LedgerEngineConfiguration {
+
+    @Bean
+    public LedgerBalances ledgerBalances(BalanceSnapshotRepository snapshotRepository, LedgerEntryRepository entryRepository) {
+        return new LedgerBalances(snapshotRepository, entryRepository);
+    }
+
+    @Bean
+    @Primary
+    public LedgerTransferEngine ledgerTransferEngine(
+            TransferValidatorService validatorService,
+            AccountRepository accountRepository,
+            TransferRepository transferRepository,
+            LedgerEntryRepository entryRepository,
+            LedgerBalances ledgerBalances,
+            IdempotencyService idempotencyService,
+            AccountLockManager accountLockManager,
+            PlatformTransactionManager transactionManager,
+            TransferCommitDeadline commitDeadline,
+            ApplicationEventPublisher eventPublisher,
+            TransferMetrics metrics,
+            LedgerProperties properties
+    ) {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setTimeout((int) properties.transactionTimeout().toSeconds());
+        return new LedgerTransferEngine(
+                validatorService,
+                accountRepository,
+                transferRepository,
+                entryRepository,
+                ledgerBalances,
+                idempotencyService,
+                accountLockManager,
+                transactionTemplate,
+                commitDeadline,
+                properties.transactionTimeout(),
+                eventPublisher,
+                metrics
+        );
+    }
+
+    @Bean
+    public LedgerSnapshotter ledgerSnapshotter(
+            LedgerEntryRepository entryRepository,
+            BalanceSnapshotRepository snapshotRepository,
+            AccountRepository accountRepository,
+            LedgerWatermarkRepository watermarkRepository,
+            TransactionTemplate transactionTemplate,
+            LedgerProperties properties,
+            TransferCommitProperties commitProperties
+    ) {
+        return new LedgerSnapshotter(entryRepository, snapshotRepository, accountRepository, watermarkRepository,
+                transactionTemplate, properties, commitProperties.clockSkew());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.global_payment_service.transfer.ledger;
+
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One side of a transfer, debiting or crediting a single account. Entries are only ever inserted.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(indexes = {
+        @Index(name = "idx_ledger_entry_account_created_at", columnList = "account_id, created_at"),
+        @Index(name = "idx_ledger_entry_created_at", columnList = "created_at")
+})
+public class LedgerEntry {
+
+    public LedgerEntry(UUID accountId, UUID transferId, long amount, Currency currency, Instant createdAt) {
+        this.accountId = accountId;
+        this.transferId = transferId;
+        this.amount = amount;
+        this.currency = currency;
+        this.createdAt = createdAt;
+    }
+
+    public static LedgerEntry debit(UUID accountId, UUID transferId, Money amount, Instant createdAt) {
+        return new LedgerEntry(accountId, transferId, Math.negateExact(amount.amount()), amount.currency(), createdAt);
+    }
+
+    public static LedgerEntry credit(UUID accountId, UUID transferId, Money amount, Instant createdAt) {
+        return new LedgerEntry(accountId, transferId, amount.amount(), amount.currency(), createdAt);
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "account_id", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "transfer_id", nullable = false)
+    private UUID transferId;
+
+    /**
+     * In minor units of {@link #currency}, negative for debits.
+     */
+    @Column(nullable = false)
+    private long amount;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Currency currency;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,34 @@
+package com.example.global_payment_service.transfer.ledger;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, UUID> {
+
+    @Query("select coalesce(sum(e.amount), 0) from LedgerEntry e where e.accountId = :accountId and e.createdAt >= :since")
+    long sumSince(UUID accountId, Instant since);
+
+    @Query("select distinct e.accountId from LedgerEntry e where e.createdAt >= :since and e.createdAt < :until")
+    List<UUID> findAccountIdsWithEntriesBetween(Instant since, Instant until);
+
+    /**
+     * Sums the entries of each account created before {@code until} that its snapshot doesn't include yet.
+     */
+    @Query("""
+            select new com.example.global_payment_service.transfer.ledger.LedgerDelta(e.accountId, sum(e.amount))
+            from LedgerEntry e left join BalanceSnapshot s on s.accountId = e.accountId
+            where e.accountId in :accountIds and e.createdAt < :until
+                and (s.accountId is null or e.createdAt >= s.coveredUntil)
+            group by e.accountId
+            """)
+    List<LedgerDelta> sumUnsnapshotted(Collection<UUID> accountIds, Instant until);
+
+    List<LedgerEntry> findByTransferId(UUID transferId);
+}
@@ -0,0 +1,29 @@
+package com.example.global_payment_service.transfer.ledger;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param transactionTimeout upper bound on how long a ledger transaction may stay open, checked right before it commits
+ * @param safetyLag          how old entries must be before they are folded into a snapshot, on top of
+ *                           {@code transfer.commit.clock-skew}; longer than {@code transactionTimeout}, so no
+ *                           transaction can still commit an entry that old
+ */
+@ConfigurationProperties(prefix = "transfer.ledger")
+public record LedgerProperties(
+        @DefaultValue("2s") Duration transactionTimeout,
+        @DefaultValue("10s") Duration safetyLag,
+        @DefaultValue("10s") Duration snapshotInterval,
+        @DefaultValue("500") int snapshotBatchSize
+) {
+    public LedgerProperties {
+        if (transactionTimeout.toSeconds() < 1) {
+            throw new IllegalArgumentException("transfer.ledger.transaction-timeout must be at least one second");
+        }
+        if (safetyLag.compareTo(transactionTimeout) <= 0) {
+            throw new IllegalArgumentException("transfer.ledger.safety-lag must be longer than transfer.ledger.transaction-timeout");
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.global_payment_service.transfer.ledger;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Folds ledger entries into per-account balance snapshots, so deriving a balance only has to sum the entries since the
+ * last snapshot. Only entries older than the safety lag plus the allowed clock skew between instances are folded: a
+ * ledger transaction fails at commit once it has been open for the transaction timeout, which is shorter than the
+ * safety lag, so no entry that old can still be committed after the snapshot was taken. Snapshots are versioned, so if
+ * two instances fold the same account concurrently one of them backs off and the batch is retried on the next run.
+ * How far the ledger has been folded is kept in the {@link LedgerWatermark}, so a run only scans the entries created
+ * since, also after a restart.
+ */
+@Log4j2
+public class LedgerSnapshotter {
+
+    private final LedgerEntryRepository entryRepository;
+    private final BalanceSnapshotRepository snapshotRepository;
+    private final AccountRepository accountRepository;
+    private final LedgerWatermarkRepository watermarkRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerProperties properties;
+    private final Duration lag;
+
+    public LedgerSnapshotter(
+            LedgerEntryRepository entryRepository,
+            BalanceSnapshotRepository snapshotRepository,
+            AccountRepository accountRepository,
+            LedgerWatermarkRepository watermarkRepository,
+            TransactionTemplate transactionTemplate,
+            LedgerProperties properties,
+            Duration clockSkew
+    ) {
+        this.entryRepository = entryRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.accountRepository = accountRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.lag = properties.safetyLag().plus(clockSkew);
+    }
+
+    @Scheduled(
+            initialDelayString = "${transfer.ledger.snapshot-interval:10s}",
+            fixedDelayString = "${transfer.ledger.snapshot-interval:10s}"
+    )
+    public void run() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.warn("Failed to snapshot ledger balances", e);
+        }
+    }
+
+    /**
+     * @return the number of accounts whose snapshot was advanced
+     */
+    public int snapshot() {
+        var until = Instant.now().minus(lag).truncatedTo(ChronoUnit.MICROS);
+        var since = watermarkRepository.findById(LedgerWatermark.ID).map(LedgerWatermark::getFoldedUntil).orElse(Instant.EPOCH);
+        if (!until.isAfter(since)) return 0;
+
+        var accountIds = entryRepository.findAccountIdsWithEntriesBetween(since, until);
+        int advanced = 0;
+        boolean complete = true;
+        for (int offset = 0; offset < accountIds.size(); offset += properties.snapshotBatchSize()) {
+            var batch = accountIds.subList(offset, Math.min(accountIds.size(), offset + properties.snapshotBatchSize()));
+            try {
+                Integer count = transactionTemplate.execute(status -> advance(batch, until));
+                advanced += count == null ? 0 : count;
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+                log.debug("Ledger snapshots were advanced concurrently, retrying on the next run", e);
+                complete = false;
+            }
+        }
+
+        if (complete) advanceWatermark(until);
+        return advanced;
+    }
+
+    private void advanceWatermark(Instant foldedUntil) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (watermarkRepository.advance(LedgerWatermark.ID, foldedUntil) == 0
+                        && !watermarkRepository.existsById(LedgerWatermark.ID)) {
+                    watermarkRepository.saveAndFlush(new LedgerWatermark(foldedUntil));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Ledger watermark was created concurrently, advancing it on the next run", e);
+        }
+    }
+
+    private int advance(List<UUID> accountIds, Instant until) {
+        var snapshots = snapshotRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(BalanceSnapshot::getAccountId, Function.identity()));
+
+        var missing = new ArrayList<UUID>();
+        for (var accountId : accountIds) {
+            if (!snapshots.containsKey(accountId)) missing.add(accountId);
+        }
+        for (var account : accountRepository.findAllById(missing)) {
+            snapshots.put(account.getId(), openingSnapshot(account));
+        }
+
+        var deltas = entryRepository.sumUnsnapshotted(accountIds, until);
+        for (var delta : deltas) {
+            snapshots.get(delta.accountId()).advance(delta.amount(), until);
+        }
+        snapshotRepository.saveAll(snapshots.values());
+        return deltas.size();
+    }
+
+    private static BalanceSnapshot openingSnapshot(Account account) {
+        return new BalanceSnapshot(account.getId(), account.getBalance(), Instant.EPOCH);
+    }
+}
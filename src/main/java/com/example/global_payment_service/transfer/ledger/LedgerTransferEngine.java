@@ -0,0 +1,131 @@
+package com.example.global_payment_service.transfer.ledger;
+
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.AccountLockManager;
+import com.example.global_payment_service.transfer.IdempotentTransferEngine;
+import com.example.global_payment_service.transfer.Transfer;
+import com.example.global_payment_service.transfer.TransferCommitDeadline;
+import com.example.global_payment_service.transfer.TransferCompletedEvent;
+import com.example.global_payment_service.transfer.TransferMetrics;
+import com.example.global_payment_service.transfer.TransferQuote;
+import com.example.global_payment_service.transfer.TransferRepository;
+import com.example.global_payment_service.transfer.TransferStatus;
+import com.example.global_payment_service.transfer.TransferValidatorService;
+import com.example.global_payment_service.transfer.exception.InsufficientFundsException;
+import com.example.global_payment_service.transfer.exception.UserDoesNotExistException;
+import com.example.global_payment_service.transfer.idempotency.IdempotencyService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Records every transfer as a pair of immutable ledger entries instead of updating balances in place. Only the sender
+ * is locked, in process and with a row lock on its account, because a debit must see every earlier debit to check the
+ * funds. Credits are plain inserts, so any number of transfers can pay into the same account concurrently.
+ */
+public class LedgerTransferEngine implements IdempotentTransferEngine {
+
+    private final TransferValidatorService validatorService;
+    private final AccountRepository accountRepository;
+    private final TransferRepository transferRepository;
+    private final LedgerEntryRepository entryRepository;
+    private final LedgerBalances balances;
+    private final IdempotencyService idempotencyService;
+    private final AccountLockManager accountLockManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferCommitDeadline commitDeadline;
+    private final Duration transactionTimeout;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransferMetrics metrics;
+
+    public LedgerTransferEngine(
+            TransferValidatorService validatorService,
+            AccountRepository accountRepository,
+            TransferRepository transferRepository,
+            LedgerEntryRepository entryRepository,
+            LedgerBalances balances,
+            IdempotencyService idempotencyService,
+            AccountLockManager accountLockManager,
+            TransactionTemplate transactionTemplate,
+            TransferCommitDeadline commitDeadline,
+            Duration transactionTimeout,
+            ApplicationEventPublisher eventPublisher,
+            TransferMetrics metrics
+    ) {
+        this.validatorService = validatorService;
+        this.accountRepository = accountRepository;
+        this.transferRepository = transferRepository;
+        this.entryRepository = entryRepository;
+        this.balances = balances;
+        this.idempotencyService = idempotencyService;
+        this.accountLockManager = accountLockManager;
+        this.transactionTemplate = transactionTemplate;
+        this.commitDeadline = commitDeadline;
+        this.transactionTimeout = transactionTimeout;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void transfer(@NonNull UUID fromId, @NonNull UUID toId, @NonNull Money balance) {
+        transfer(null, fromId, toId, balance);
+    }
+
+    /**
+     * The stored balance is the opening balance, the current one is derived by {@link LedgerBalances}.
+     */
+    @Override
+    public boolean storesBalances() {
+        return false;
+    }
+
+    @Override
+    public void transfer(@Nullable UUID idempotencyKey, @NonNull UUID fromId, @NonNull UUID toId, @NonNull Money balance) {
+        var quote = validatorService.quote(fromId, toId, balance);
+        try (var locked = accountLockManager.lock(List.of(fromId))) {
+            var start = metrics.transactionStarted();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    commitDeadline.enforce(transactionTimeout);
+                    if (idempotencyKey != null) idempotencyService.record(idempotencyKey, TransferStatus.COMPLETED);
+                    append(quote);
+                });
+            } finally {
+                metrics.transactionEnded(start);
+            }
+        }
+    }
+
+    private void append(TransferQuote quote) {
+        var start = System.nanoTime();
+        var from = accountRepository.findByIdForUpdate(quote.fromId()).orElseThrow(() -> new UserDoesNotExistException(quote.fromId()));
+        var to = accountRepository.findById(quote.toId()).orElseThrow(() -> new UserDoesNotExistException(quote.toId()));
+        if (from.getCurrency() != quote.balanceToDeduct().currency() || to.getCurrency() != quote.balanceToAdd().currency()) {
+            throw new IllegalStateException("Account currency changed since the transfer was quoted");
+        }
+        var available = balances.balanceOf(from);
+        metrics.record(TransferMetrics.Stage.ACCOUNT_LOAD, start);
+
+        if (available.compareTo(quote.balanceToDeduct()) < 0) {
+            throw new InsufficientFundsException("insufficient funds");
+        }
+
+        start = System.nanoTime();
+        var transfer = transferRepository.save(new Transfer(from, to, quote.balance()));
+        var createdAt = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        entryRepository.saveAll(List.of(
+                LedgerEntry.debit(from.getId(), transfer.getId(), quote.balanceToDeduct(), createdAt),
+                LedgerEntry.credit(to.getId(), transfer.getId(), quote.balanceToAdd(), createdAt)
+        ));
+        eventPublisher.publishEvent(TransferCompletedEvent.of(transfer));
+        metrics.record(TransferMetrics.Stage.BALANCE_UPDATE, start);
+    }
+}
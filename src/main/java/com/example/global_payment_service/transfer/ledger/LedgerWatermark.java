@@ -0,0 +1,32 @@
+package com.example.global_payment_service.transfer.ledger;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * How far the ledger has been folded into snapshots. A single row shared by all instances, so that the snapshotter
+ * resumes from it after a restart instead of scanning the ledger from the beginning.
+ */
+@Getter
+@NoArgsConstructor
+@Entity
+public class LedgerWatermark {
+
+    public static final int ID = 1;
+
+    public LedgerWatermark(Instant foldedUntil) {
+        this.id = ID;
+        this.foldedUntil = foldedUntil;
+    }
+
+    @Id
+    private int id;
+
+    @Column(name = "folded_until", nullable = false)
+    private Instant foldedUntil;
+}
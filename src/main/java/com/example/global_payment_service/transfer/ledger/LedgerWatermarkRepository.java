@@ -0,0 +1,21 @@
+package com.example.global_payment_service.transfer.ledger;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface LedgerWatermarkRepository extends JpaRepository<LedgerWatermark, Integer> {
+
+    /**
+     * Moves the watermark forward, never back, since another instance may have advanced it further meanwhile.
+     *
+     * @return the number of rows updated
+     */
+    @Modifying
+    @Query("update LedgerWatermark w set w.foldedUntil = :foldedUntil where w.id = :id and w.foldedUntil < :foldedUntil")
+    int advance(int id, Instant foldedUntil);
+}
@@ -1,20 +1,33 @@
 package com.example.global_payment_service.transfer.monitor;
 
+import com.example.global_payment_service.persistence.TimeOrderedUuids;
 import com.example.global_payment_service.transfer.Transfer;
+import com.example.global_payment_service.transfer.TransferCommitProperties;
 import com.example.global_payment_service.transfer.TransferRepository;
+import com.example.global_payment_service.transfer.monitor.api.TransferPageDto;
 import com.example.global_payment_service.transfer.monitor.api.TransferViewDto;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 
 @Service
 public class SuccessfulTransferMonitorService {
 
     private final TransferRepository transferRepository;
+    private final TransferViewRepository transferViewRepository;
+    private final TransferCommitProperties commitProperties;
 
-    public SuccessfulTransferMonitorService(TransferRepository transferRepository) {
+    public SuccessfulTransferMonitorService(
+            TransferRepository transferRepository,
+            TransferViewRepository transferViewRepository,
+            TransferCommitProperties commitProperties
+    ) {
         this.transferRepository = transferRepository;
+        this.transferViewRepository = transferViewRepository;
+        this.commitProperties = commitProperties;
     }
 
     @NonNull
@@ -23,12 +36,33 @@ public class SuccessfulTransferMonitorService {
         return transferRepository.findAll(pageRequest).map(this::toDto);
     }
 
-    private TransferViewDto toDto(Transfer transfer) {
+    /**
+     * Returns the transfers following {@code after}, or the first ones if it is {@code null}. One extra row is fetched
+     * to tell whether there is a next page. Only transfers whose ids are older than
+     * {@link TransferCommitProperties#settledBefore()} are returned, since a younger one may still be committed after
+     * transfers with higher ids have been read.
+     */
+    @NonNull
+    public TransferPageDto getSuccessfulTransfers(@Nullable TransferCursor after, int limit) {
+        var before = TimeOrderedUuids.lowest(commitProperties.settledBefore().toEpochMilli());
+        var rows = after == null
+                ? transferViewRepository.findFirst(before, Limit.of(limit + 1))
+                : transferViewRepository.findBetween(after.id(), before, Limit.of(limit + 1));
+
+        if (rows.size() <= limit) return new TransferPageDto(rows, null);
+
+        var items = rows.subList(0, limit);
+        return new TransferPageDto(items, TransferCursor.of(items.getLast()).encode());
+    }
+
+    TransferViewDto toDto(Transfer transfer) {
         return new TransferViewDto(
+                transfer.getId(),
                 transfer.getSender().getId(),
                 transfer.getRecipient().getId(),
-                transfer.getBalance(),
-                transfer.getCurrency()
+                transfer.getBalance().toBigDecimal(),
+                transfer.getCurrency(),
+                transfer.getCreatedAt()
         );
     }
 }
@@ -0,0 +1,33 @@
+package com.example.global_payment_service.transfer.monitor;
+
+import com.example.global_payment_service.transfer.monitor.api.TransferViewDto;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position of a transfer in id order, encoded as an opaque URL-safe string. Transfer ids are time-ordered by when the
+ * transfer was written, which is not necessarily the order transfers commit in.
+ */
+public record TransferCursor(UUID id) {
+
+    private static final int SIZE = 2 * Long.BYTES;
+
+    public static TransferCursor of(TransferViewDto transfer) {
+        return new TransferCursor(transfer.id());
+    }
+
+    public static TransferCursor decode(String encoded) {
+        var buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(encoded));
+        if (buffer.remaining() != SIZE) throw new IllegalArgumentException("Invalid cursor: " + encoded);
+        return new TransferCursor(new UUID(buffer.getLong(), buffer.getLong()));
+    }
+
+    public String encode() {
+        var buffer = ByteBuffer.allocate(SIZE)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.global_payment_service.transfer.monitor;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+public enum TransferExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    TransferExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static Optional<TransferExportFormat> parse(String value) {
+        return Arrays.stream(values()).filter(format -> format.extension.equalsIgnoreCase(value)).findFirst();
+    }
+}
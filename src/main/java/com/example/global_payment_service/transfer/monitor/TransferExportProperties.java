@@ -0,0 +1,21 @@
+package com.example.global_payment_service.transfer.monitor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param timeout how long an export may stream before the request is timed out; applies to exports only, other
+ *                asynchronous requests keep the container's default
+ */
+@ConfigurationProperties(prefix = "transfer.export")
+public record TransferExportProperties(
+        @DefaultValue("30m") Duration timeout
+) {
+    public TransferExportProperties {
+        if (!timeout.isPositive()) {
+            throw new IllegalArgumentException("transfer.export.timeout must be positive");
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.global_payment_service.transfer.monitor;
+
+import com.example.global_payment_service.transfer.TransferCommitProperties;
+import com.example.global_payment_service.transfer.monitor.api.TransferViewDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.stream.Stream;
+
+/**
+ * Writes transfers to an output stream while they are read from the database cursor, so memory use does not depend on
+ * the number of rows exported.
+ */
+@Service
+public class TransferExportService {
+
+    private static final String CSV_HEADER = "id,senderId,recipientId,amount,currency,createdAt";
+
+    private final TransferViewRepository transferViewRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectWriter rowWriter;
+    private final ObjectMapper objectMapper;
+    private final TransferCommitProperties commitProperties;
+
+    public TransferExportService(
+            TransferViewRepository transferViewRepository,
+            PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper,
+            TransferCommitProperties commitProperties
+    ) {
+        this.transferViewRepository = transferViewRepository;
+        this.commitProperties = commitProperties;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writerFor(TransferViewDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Exports transfers created in {@code [since, until)}. A missing {@code since} means from the beginning. {@code until}
+     * is capped at {@link TransferCommitProperties#settledBefore()}, since transfers created after that may still be
+     * committed, and a missing one means up to that point.
+     */
+    public void export(
+            @Nullable Instant since,
+            @Nullable Instant until,
+            @NonNull TransferExportFormat format,
+            @NonNull OutputStream out
+    ) {
+        var from = since == null ? Instant.EPOCH : since;
+        var settled = commitProperties.settledBefore();
+        var to = until == null || until.isAfter(settled) ? settled : until;
+
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            try (var rows = transferViewRepository.streamCreatedBetween(from, to)) {
+                switch (format) {
+                    case NDJSON -> writeNdjson(rows, out);
+                    case CSV -> writeCsv(rows, out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeNdjson(Stream<TransferViewDto> rows, OutputStream out) throws IOException {
+        try (var generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            for (var iterator = rows.iterator(); iterator.hasNext(); ) {
+                rowWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+
+    private void writeCsv(Stream<TransferViewDto> rows, OutputStream out) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.newLine();
+        for (var iterator = rows.iterator(); iterator.hasNext(); ) {
+            var row = iterator.next();
+            writer.write(row.id().toString());
+            writer.write(',');
+            writer.write(row.senderId().toString());
+            writer.write(',');
+            writer.write(row.recipientId().toString());
+            writer.write(',');
+            writer.write(row.amount().toPlainString());
+            writer.write(',');
+            writer.write(row.currency().name());
+            writer.write(',');
+            writer.write(row.createdAt().toString());
+            writer.newLine();
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.global_payment_service.transfer.monitor;
+
+import com.example.global_payment_service.transfer.Transfer;
+import com.example.global_payment_service.transfer.monitor.api.TransferViewDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Read-only projections of {@link Transfer}s. Pages are read in id order, served by the primary key index; exports are
+ * read in {@code (createdAt, id)} order, served by the {@code idx_transfer_created_at_id} index. Ids and creation times
+ * are assigned when a transfer is written, not when it commits, so both orders are only stable for transfers that have
+ * settled, and every query takes an upper bound. No entities are loaded and no count query is run.
+ */
+@Repository
+public interface TransferViewRepository extends org.springframework.data.repository.Repository<Transfer, UUID> {
+
+    String EXPORT_FETCH_SIZE = "1000";
+
+    @Query("""
+            select new com.example.global_payment_service.transfer.monitor.api.TransferViewDto(
+                t.id, t.sender.id, t.recipient.id, t.balance, t.currency, t.createdAt)
+            from Transfer t
+            where t.id < :before
+            order by t.id
+            """)
+    List<TransferViewDto> findFirst(UUID before, Limit limit);
+
+    @Query("""
+            select new com.example.global_payment_service.transfer.monitor.api.TransferViewDto(
+                t.id, t.sender.id, t.recipient.id, t.balance, t.currency, t.createdAt)
+            from Transfer t
+            where t.id > :after and t.id < :before
+            order by t.id
+            """)
+    List<TransferViewDto> findBetween(UUID after, UUID before, Limit limit);
+
+    /**
+     * Streams transfers created in {@code [since, until)} over a forward-only cursor. Must be consumed inside a
+     * transaction and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            select new com.example.global_payment_service.transfer.monitor.api.TransferViewDto(
+                t.id, t.sender.id, t.recipient.id, t.balance, t.currency, t.createdAt)
+            from Transfer t
+            where t.createdAt >= :since and t.createdAt < :until
+            order by t.createdAt, t.id
+            """)
+    Stream<TransferViewDto> streamCreatedBetween(Instant since, Instant until);
+
+}
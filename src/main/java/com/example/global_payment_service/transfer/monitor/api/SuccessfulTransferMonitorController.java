@@ -1,20 +1,44 @@
 package com.example.global_payment_service.transfer.monitor.api;
 
 import com.example.global_payment_service.transfer.monitor.SuccessfulTransferMonitorService;
+import com.example.global_payment_service.transfer.monitor.TransferCursor;
+import com.example.global_payment_service.transfer.monitor.TransferExportFormat;
+import com.example.global_payment_service.transfer.monitor.TransferExportProperties;
+import com.example.global_payment_service.transfer.monitor.TransferExportService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
 
 @RestController
 @RequestMapping("api/transfers")
 public class SuccessfulTransferMonitorController {
 
+    static final int MAX_LIMIT = 1000;
+
     private final SuccessfulTransferMonitorService monitorService;
+    private final TransferExportService exportService;
+    private final Duration exportTimeout;
 
-    public SuccessfulTransferMonitorController(SuccessfulTransferMonitorService monitorService) {
+    public SuccessfulTransferMonitorController(
+            SuccessfulTransferMonitorService monitorService,
+            TransferExportService exportService,
+            TransferExportProperties exportProperties
+    ) {
         this.monitorService = monitorService;
+        this.exportService = exportService;
+        this.exportTimeout = exportProperties.timeout();
     }
 
     @GetMapping
@@ -24,4 +48,47 @@ public class SuccessfulTransferMonitorController {
     ) {
         return monitorService.getSuccessfulTransfers(page, pageSize);
     }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<TransferPageDto> getSuccessfulTransfersAfter(
+        @RequestParam(required = false) String after,
+        @RequestParam int limit
+    ) {
+        if (limit < 1 || limit > MAX_LIMIT) return ResponseEntity.badRequest().build();
+
+        TransferCursor cursor;
+        try {
+            cursor = after == null ? null : TransferCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(monitorService.getSuccessfulTransfers(cursor, limit));
+    }
+
+    /**
+     * Streams the export on the async executor with its own timeout, so that a long export isn't cut off by the
+     * container's default and other async requests aren't given the export's.
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> export(
+        @RequestParam(required = false) Instant since,
+        @RequestParam(required = false) Instant until,
+        @RequestParam(defaultValue = "ndjson") String format,
+        HttpServletResponse response
+    ) {
+        var exportFormat = TransferExportFormat.parse(format).orElse(null);
+        if (exportFormat == null || (since != null && until != null && !since.isBefore(until))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST);
+        }
+
+        var contentDisposition = ContentDisposition.attachment()
+                .filename("transfers." + exportFormat.getExtension())
+                .build();
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString());
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            exportService.export(since, until, exportFormat, response.getOutputStream());
+            return null;
+        });
+    }
 }
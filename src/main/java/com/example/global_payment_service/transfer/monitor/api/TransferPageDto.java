@@ -0,0 +1,9 @@
+package com.example.global_payment_service.transfer.monitor.api;
+
+import java.util.List;
+
+/**
+ * @param nextCursor pass as {@code after} to get the next page, {@code null} on the last page
+ */
+public record TransferPageDto(List<TransferViewDto> items, String nextCursor) {
+}
@@ -3,7 +3,21 @@ package com.example.global_payment_service.transfer.monitor.api;
 import com.example.global_payment_service.account.Currency;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.UUID;
 
-public record TransferViewDto(UUID senderId, UUID recipientId, BigDecimal amount, Currency currency) {
+public record TransferViewDto(
+        UUID id,
+        UUID senderId,
+        UUID recipientId,
+        BigDecimal amount,
+        Currency currency,
+        Instant createdAt
+) {
+    /**
+     * Used by query projections, which read the amount as stored: in minor units of the currency.
+     */
+    public TransferViewDto(UUID id, UUID senderId, UUID recipientId, long amountInMinorUnits, Currency currency, Instant createdAt) {
+        this(id, senderId, recipientId, BigDecimal.valueOf(amountInMinorUnits, currency.getScale()), currency, createdAt);
+    }
 }
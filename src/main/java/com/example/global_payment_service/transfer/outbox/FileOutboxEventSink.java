@@ -0,0 +1,40 @@
+package com.example.global_payment_service.transfer.outbox;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends the payload of every event as one line to a file, and forces the batch to disk before acknowledging it.
+ */
+public class FileOutboxEventSink implements OutboxEventSink, AutoCloseable {
+
+    private final FileChannel channel;
+
+    public FileOutboxEventSink(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        var lines = new StringBuilder();
+        for (var event : events) {
+            lines.append(event.getPayload()).append('\n');
+        }
+
+        var buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
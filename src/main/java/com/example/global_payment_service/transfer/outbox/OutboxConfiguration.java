@@ -0,0 +1,34 @@
+package com.example.global_payment_service.transfer.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfiguration {
+
+    @Bean
+    public OutboxEventSink outboxEventSink(OutboxProperties properties) throws IOException {
+        return switch (properties.sink()) {
+            case IN_MEMORY -> new InMemoryOutboxEventSink(properties.inMemoryCapacity());
+            case FILE -> new FileOutboxEventSink(Path.of(properties.file()));
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "outbox.relay-enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            OutboxEventSink outboxEventSink,
+            TransactionTemplate transactionTemplate,
+            OutboxProperties properties
+    ) {
+        return new OutboxRelay(outboxEventRepository, outboxEventSink, transactionTemplate, properties);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.global_payment_service.transfer.outbox;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(indexes = @Index(name = "idx_outbox_event_created_at", columnList = "created_at"))
+public class OutboxEvent {
+
+    public OutboxEvent(String type, UUID aggregateId, String payload, Instant createdAt) {
+        this.type = type;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String type;
+
+    @Column(nullable = false)
+    private UUID aggregateId;
+
+    @Column(nullable = false, length = 4096)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * Until when a relay holds the event for publishing, or null if none does.
+     */
+    @Column(name = "claimed_until")
+    private Instant claimedUntil;
+}
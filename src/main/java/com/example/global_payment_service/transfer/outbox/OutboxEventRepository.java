@@ -0,0 +1,36 @@
+package com.example.global_payment_service.transfer.outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    /**
+     * Locks the oldest events no relay holds a lease on, skipping the ones another relay is claiming right now.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from OutboxEvent e where e.claimedUntil is null or e.claimedUntil < :now order by e.createdAt, e.id")
+    List<OutboxEvent> claimOldest(Instant now, Limit limit);
+
+    /**
+     * Gives up the lease on the events, unless it has expired and another relay claimed them in the meantime.
+     */
+    @Modifying
+    @Query("update OutboxEvent e set e.claimedUntil = null where e.id in :ids and e.claimedUntil = :claimedUntil")
+    void release(Collection<UUID> ids, Instant claimedUntil);
+
+}
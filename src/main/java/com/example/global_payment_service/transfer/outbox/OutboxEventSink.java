@@ -0,0 +1,11 @@
+package com.example.global_payment_service.transfer.outbox;
+
+import java.util.List;
+
+/**
+ * Delivers outbox events to their consumers. A batch is removed from the outbox only if {@link #publish} returns
+ * normally, so sinks get at-least-once delivery and must tolerate duplicates.
+ */
+public interface OutboxEventSink {
+    void publish(List<OutboxEvent> events) throws Exception;
+}
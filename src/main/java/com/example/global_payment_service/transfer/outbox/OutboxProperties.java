@@ -0,0 +1,26 @@
+package com.example.global_payment_service.transfer.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param lease how long a relay holds the events it claimed; if it hasn't published them by then, another relay may
+ */
+@ConfigurationProperties(prefix = "outbox")
+public record OutboxProperties(
+        @DefaultValue("true") boolean relayEnabled,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("50ms") Duration linger,
+        @DefaultValue("100ms") Duration initialBackoff,
+        @DefaultValue("30s") Duration maxBackoff,
+        @DefaultValue("1m") Duration lease,
+        @DefaultValue("in-memory") SinkType sink,
+        @DefaultValue("10000") int inMemoryCapacity,
+        @DefaultValue("outbox-events.ndjson") String file
+) {
+    public enum SinkType {
+        IN_MEMORY, FILE
+    }
+}
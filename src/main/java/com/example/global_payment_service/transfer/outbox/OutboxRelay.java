@@ -0,0 +1,131 @@
+package com.example.global_payment_service.transfer.outbox;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Moves events from the outbox to the sink on a dedicated thread. Every batch is claimed with a lease of
+ * {@code outbox.lease} in one short transaction, published outside any transaction and then deleted, so a slow sink
+ * holds neither a connection nor row locks. A failed publish gives the lease up and leaves the events in place for the
+ * next attempt, and if a relay gets stuck its lease expires and another one publishes the events. Rows are claimed
+ * with {@code SKIP LOCKED}, which lets several instances relay side by side.
+ * <p>
+ * A partial batch means the relay has caught up, so it lingers before polling again. A failing sink is retried with
+ * exponential backoff; events keep piling up in the table meanwhile and the transfer path is never slowed down.
+ */
+@Log4j2
+public class OutboxRelay implements SmartLifecycle {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public OutboxRelay(
+            OutboxEventRepository outboxEventRepository,
+            OutboxEventSink sink,
+            TransactionTemplate transactionTemplate,
+            OutboxProperties properties
+    ) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    /**
+     * Publishes at most one batch.
+     *
+     * @return the number of events published
+     */
+    public int relayBatch() {
+        var events = claim();
+        if (events.isEmpty()) return 0;
+
+        var ids = events.stream().map(OutboxEvent::getId).toList();
+        try {
+            sink.publish(events);
+        } catch (Exception e) {
+            var failure = new IllegalStateException("Outbox sink rejected a batch of " + events.size() + " events", e);
+            try {
+                var claimedUntil = events.getFirst().getClaimedUntil();
+                transactionTemplate.executeWithoutResult(status -> outboxEventRepository.release(ids, claimedUntil));
+            } catch (RuntimeException releaseFailure) {
+                failure.addSuppressed(releaseFailure);
+            }
+            throw failure;
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteAllByIdInBatch(ids));
+        return events.size();
+    }
+
+    private List<OutboxEvent> claim() {
+        var events = transactionTemplate.execute(status -> {
+            var now = Instant.now();
+            var claimed = outboxEventRepository.claimOldest(now, Limit.of(properties.batchSize()));
+            var claimedUntil = now.plus(properties.lease()).truncatedTo(ChronoUnit.MICROS);
+            claimed.forEach(event -> event.setClaimedUntil(claimedUntil));
+            return claimed;
+        });
+        return events == null ? List.of() : events;
+    }
+
+    private void run() {
+        var backoff = properties.initialBackoff();
+        while (running) {
+            try {
+                int published = relayBatch();
+                backoff = properties.initialBackoff();
+                if (published < properties.batchSize()) pause(properties.linger());
+            } catch (RuntimeException e) {
+                var delay = backoff;
+                log.warn(() -> String.format("Outbox relay failed, retrying in %s", delay), e);
+                pause(delay);
+                backoff = min(backoff.multipliedBy(2), properties.maxBackoff());
+            }
+        }
+    }
+
+    private void pause(Duration duration) {
+        LockSupport.parkNanos(duration.toNanos());
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        thread = Thread.ofPlatform().name("outbox-relay").daemon().start(this::run);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(properties.maxBackoff().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
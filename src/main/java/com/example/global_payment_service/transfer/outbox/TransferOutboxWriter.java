@@ -0,0 +1,37 @@
+package com.example.global_payment_service.transfer.outbox;
+
+import com.example.global_payment_service.transfer.TransferCompletedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes completed transfers to the outbox in the transaction that inserts them.
+ */
+@Component
+public class TransferOutboxWriter {
+
+    public static final String TRANSFER_COMPLETED = "TransferCompleted";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public TransferOutboxWriter(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        try {
+            var payload = objectMapper.writeValueAsString(event);
+            outboxEventRepository.save(new OutboxEvent(TRANSFER_COMPLETED, event.transferId(), payload, event.completedAt()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize transfer event " + event.transferId(), e);
+        }
+    }
+}
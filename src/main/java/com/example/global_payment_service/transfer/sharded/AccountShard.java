@@ -0,0 +1,145 @@
+package com.example.global_payment_service.transfer.sharded;
+
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.transfer.exception.InsufficientFundsException;
+import com.example.global_payment_service.transfer.exception.UserDoesNotExistException;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Owns the in-memory balances of a partition of the accounts. All commands of a shard are applied one after the other
+ * by the shard's own thread, so balances are read and written without any locking. Accounts are loaded from the
+ * database the first time the shard touches them; from then on the shard's balance is the authoritative one. Balances
+ * are kept in minor units in mutable single-element arrays, so applying a command does not allocate.
+ */
+@Log4j2
+class AccountShard implements AutoCloseable {
+
+    private static final int MAX_COMMANDS_PER_DRAIN = 1024;
+
+    private final AccountRepository accountRepository;
+    private final BlockingQueue<Runnable> commands;
+    private final Map<UUID, long[]> balances = new HashMap<>();
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    AccountShard(int index, int queueCapacity, AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+        this.commands = new ArrayBlockingQueue<>(queueCapacity);
+        this.thread = Thread.ofPlatform().name("transfer-shard-" + index).daemon().start(this::run);
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<T> command) {
+        var result = new CompletableFuture<T>();
+        if (!running) {
+            result.completeExceptionally(new IllegalStateException("Shard is shut down"));
+            return result;
+        }
+
+        try {
+            commands.put(() -> {
+                try {
+                    result.complete(command.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Moves money between two accounts owned by this shard. Must be called on the shard thread.
+     */
+    Void transferWithin(UUID fromId, UUID toId, long debited, long credited) {
+        var fromBalance = balanceOf(fromId);
+        var toBalance = balanceOf(toId);
+        if (debited > fromBalance[0]) {
+            throw new InsufficientFundsException("insufficient funds");
+        }
+
+        long debitedBalance = fromBalance[0] - debited;
+        if (fromBalance == toBalance) {
+            fromBalance[0] = Math.addExact(debitedBalance, credited);
+            return null;
+        }
+
+        long creditedBalance = Math.addExact(toBalance[0], credited);
+        fromBalance[0] = debitedBalance;
+        toBalance[0] = creditedBalance;
+        return null;
+    }
+
+    /**
+     * First step of a cross-shard transfer. Must be called on the shard thread.
+     */
+    Void debit(UUID accountId, long amount) {
+        var balance = balanceOf(accountId);
+        if (amount > balance[0]) {
+            throw new InsufficientFundsException("insufficient funds");
+        }
+        balance[0] -= amount;
+        return null;
+    }
+
+    /**
+     * Second step of a cross-shard transfer, or the compensation of a debit. Must be called on the shard thread.
+     */
+    Void credit(UUID accountId, long amount) {
+        var balance = balanceOf(accountId);
+        balance[0] = Math.addExact(balance[0], amount);
+        return null;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private long[] balanceOf(UUID accountId) {
+        var balance = balances.get(accountId);
+        if (balance != null) return balance;
+
+        var account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new UserDoesNotExistException(accountId));
+        balance = new long[]{account.getBalance().amount()};
+        balances.put(accountId, balance);
+        return balance;
+    }
+
+    private void run() {
+        var drained = new ArrayList<Runnable>(MAX_COMMANDS_PER_DRAIN);
+        while (running || !commands.isEmpty()) {
+            try {
+                var first = commands.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                first.run();
+                commands.drainTo(drained, MAX_COMMANDS_PER_DRAIN);
+                drained.forEach(Runnable::run);
+            } catch (InterruptedException e) {
+                log.warn("Transfer shard thread interrupted", e);
+            } finally {
+                drained.clear();
+            }
+        }
+    }
+}
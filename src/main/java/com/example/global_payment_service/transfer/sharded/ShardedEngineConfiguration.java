@@ -0,0 +1,33 @@
+package com.example.global_payment_service.transfer.sharded;
+
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.transfer.TransferCommitDeadline;
+import com.example.global_payment_service.transfer.TransferRepository;
+import com.example.global_payment_service.transfer.TransferValidatorService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@ConditionalOnProperty(name = "transfer.engine", havingValue = "sharded")
+@EnableConfigurationProperties(ShardedEngineProperties.class)
+public class ShardedEngineConfiguration {
+
+    @Bean
+    @Primary
+    public ShardedTransferEngine shardedTransferEngine(
+            TransferValidatorService validatorService,
+            AccountRepository accountRepository,
+            TransferRepository transferRepository,
+            TransactionTemplate transactionTemplate,
+            TransferCommitDeadline commitDeadline,
+            ApplicationEventPublisher eventPublisher,
+            ShardedEngineProperties properties
+    ) {
+        return new ShardedTransferEngine(validatorService, accountRepository, transferRepository, transactionTemplate, commitDeadline, eventPublisher, properties);
+    }
+}
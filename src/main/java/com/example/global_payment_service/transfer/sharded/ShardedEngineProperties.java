@@ -0,0 +1,18 @@
+package com.example.global_payment_service.transfer.sharded;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "transfer.sharded")
+public record ShardedEngineProperties(
+        @DefaultValue("4") int shards,
+        @DefaultValue("4096") int shardQueueCapacity,
+        @DefaultValue("true") boolean awaitDurable,
+        @DefaultValue("500") int writerBatchSize,
+        @DefaultValue("2ms") Duration writerLinger,
+        @DefaultValue("65536") int writerQueueCapacity,
+        @DefaultValue("3") int writerMaxAttempts
+) {
+}
@@ -0,0 +1,120 @@
+package com.example.global_payment_service.transfer.sharded;
+
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.TransferCommitDeadline;
+import com.example.global_payment_service.transfer.TransferEngine;
+import com.example.global_payment_service.transfer.TransferRepository;
+import com.example.global_payment_service.transfer.TransferValidatorService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.NonNull;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Applies transfers to in-memory balances partitioned across single-threaded {@link AccountShard}s and persists them
+ * asynchronously in batches through a {@link TransferWriter}.
+ * <p>
+ * A transfer between two accounts of the same shard is a single shard command. A transfer across shards is applied in
+ * two steps: the sender's shard debits (and thereby reserves) the funds, then the recipient's shard credits them. If
+ * the credit fails the debit is compensated. The caller is acknowledged once the transfer has been persisted, or, with
+ * {@code transfer.sharded.await-durable=false}, as soon as it has been applied in memory.
+ * <p>
+ * The shards own the balances of the accounts they have loaded, so no other engine may move money on the same
+ * database while this one is running. If a batch can't be persisted the engine stops accepting transfers, since its
+ * balances no longer match the database.
+ */
+@Log4j2
+public class ShardedTransferEngine implements TransferEngine, AutoCloseable {
+
+    private final TransferValidatorService validatorService;
+    private final boolean awaitDurable;
+    private final AccountShard[] shards;
+    private final TransferWriter writer;
+
+    private volatile Throwable persistenceFailure;
+
+    public ShardedTransferEngine(
+            TransferValidatorService validatorService,
+            AccountRepository accountRepository,
+            TransferRepository transferRepository,
+            TransactionTemplate transactionTemplate,
+            TransferCommitDeadline commitDeadline,
+            ApplicationEventPublisher eventPublisher,
+            ShardedEngineProperties properties
+    ) {
+        this.validatorService = validatorService;
+        this.awaitDurable = properties.awaitDurable();
+        this.shards = new AccountShard[properties.shards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new AccountShard(i, properties.shardQueueCapacity(), accountRepository);
+        }
+        this.writer = new TransferWriter(accountRepository, transferRepository, transactionTemplate, commitDeadline, eventPublisher, properties, this::onPersistenceFailure);
+    }
+
+    @Override
+    public void transfer(@NonNull UUID fromId, @NonNull UUID toId, @NonNull Money balance) {
+        if (persistenceFailure != null) {
+            throw new IllegalStateException("Sharded transfer engine stopped after a persistence failure", persistenceFailure);
+        }
+
+        var quote = validatorService.quote(fromId, toId, balance);
+        var debited = quote.balanceToDeduct().amount();
+        var credited = quote.balanceToAdd().amount();
+        var fromShard = shardOf(fromId);
+        var toShard = shardOf(toId);
+
+        if (fromShard == toShard) {
+            await(fromShard.submit(() -> fromShard.transferWithin(fromId, toId, debited, credited)));
+        } else {
+            await(fromShard.submit(() -> fromShard.debit(fromId, debited)));
+            try {
+                await(toShard.submit(() -> toShard.credit(toId, credited)));
+            } catch (RuntimeException e) {
+                await(fromShard.submit(() -> fromShard.credit(fromId, debited)));
+                throw e;
+            }
+        }
+
+        var persisted = writer.enqueue(quote);
+        if (awaitDurable) await(persisted);
+    }
+
+    /**
+     * The shards persist balance deltas in batches, so the stored balance lags behind the one in memory.
+     */
+    @Override
+    public boolean storesBalances() {
+        return false;
+    }
+
+    @Override
+    public void close() {
+        for (var shard : shards) {
+            shard.close();
+        }
+        writer.close();
+    }
+
+    private AccountShard shardOf(UUID accountId) {
+        return shards[Math.floorMod(accountId.hashCode(), shards.length)];
+    }
+
+    private void onPersistenceFailure(Throwable failure) {
+        log.error("Sharded transfer engine stops accepting transfers after a persistence failure", failure);
+        persistenceFailure = failure;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+}
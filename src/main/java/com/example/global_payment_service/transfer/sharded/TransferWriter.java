@@ -0,0 +1,164 @@
+package com.example.global_payment_service.transfer.sharded;
+
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.transfer.Transfer;
+import com.example.global_payment_service.transfer.TransferCommitDeadline;
+import com.example.global_payment_service.transfer.TransferCompletedEvent;
+import com.example.global_payment_service.transfer.TransferQuote;
+import com.example.global_payment_service.transfer.TransferRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Persists transfers applied by the shards in batches: one transaction inserts all {@link Transfer} rows of a batch
+ * and applies the summed balance delta of every account touched by it.
+ */
+@Log4j2
+class TransferWriter implements AutoCloseable {
+
+    private final AccountRepository accountRepository;
+    private final TransferRepository transferRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferCommitDeadline commitDeadline;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final int maxAttempts;
+    private final Consumer<Throwable> onFailure;
+    private final BlockingQueue<PendingWrite> queue;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    TransferWriter(
+            AccountRepository accountRepository,
+            TransferRepository transferRepository,
+            TransactionTemplate transactionTemplate,
+            TransferCommitDeadline commitDeadline,
+            ApplicationEventPublisher eventPublisher,
+            ShardedEngineProperties properties,
+            Consumer<Throwable> onFailure
+    ) {
+        this.accountRepository = accountRepository;
+        this.transferRepository = transferRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.commitDeadline = commitDeadline;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = properties.writerBatchSize();
+        this.lingerNanos = properties.writerLinger().toNanos();
+        this.maxAttempts = properties.writerMaxAttempts();
+        this.onFailure = onFailure;
+        this.queue = new ArrayBlockingQueue<>(properties.writerQueueCapacity());
+        this.thread = Thread.ofPlatform().name("transfer-writer").daemon().start(this::run);
+    }
+
+    CompletableFuture<Void> enqueue(TransferQuote quote) {
+        var write = new PendingWrite(quote, new CompletableFuture<>());
+        try {
+            queue.put(write);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write.persisted().completeExceptionally(e);
+        }
+        return write.persisted();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        var batch = new ArrayList<PendingWrite>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                var first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                fill(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                log.warn("Transfer writer thread interrupted", e);
+                flush(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fill(List<PendingWrite> batch) throws InterruptedException {
+        var deadline = System.nanoTime() + lingerNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            if (batch.size() >= batchSize) return;
+
+            var remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return;
+
+            var next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) return;
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        if (batch.isEmpty()) return;
+
+        RuntimeException failure = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(batch));
+                batch.forEach(write -> write.persisted().complete(null));
+                return;
+            } catch (RuntimeException e) {
+                log.warn(() -> String.format("Failed to persist a batch of %d transfers", batch.size()), e);
+                failure = e;
+            }
+        }
+
+        onFailure.accept(failure);
+        for (var write : batch) {
+            write.persisted().completeExceptionally(failure);
+        }
+    }
+
+    private void persist(List<PendingWrite> batch) {
+        commitDeadline.enforce();
+        Map<UUID, Long> deltas = new TreeMap<>();
+        var transfers = new ArrayList<Transfer>(batch.size());
+        for (var write : batch) {
+            var quote = write.quote();
+            transfers.add(new Transfer(
+                    accountRepository.getReferenceById(quote.fromId()),
+                    accountRepository.getReferenceById(quote.toId()),
+                    quote.balance()
+            ));
+            deltas.merge(quote.fromId(), Math.negateExact(quote.balanceToDeduct().amount()), Math::addExact);
+            deltas.merge(quote.toId(), quote.balanceToAdd().amount(), Math::addExact);
+        }
+
+        transferRepository.saveAll(transfers).forEach(transfer -> eventPublisher.publishEvent(TransferCompletedEvent.of(transfer)));
+        deltas.forEach(accountRepository::addToBalance);
+    }
+
+    private record PendingWrite(TransferQuote quote, CompletableFuture<Void> persisted) {
+    }
+}
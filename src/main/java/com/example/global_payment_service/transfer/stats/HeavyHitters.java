@@ -0,0 +1,59 @@
+package com.example.global_payment_service.transfer.stats;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Weighted Space-Saving sketch: tracks at most {@code capacity} keys, and a key that isn't tracked replaces the one
+ * with the smallest weight, inheriting that weight as its error. Every key whose weight exceeds
+ * {@code total / capacity} is tracked, and no tracked weight is underestimated. Not thread-safe.
+ */
+class HeavyHitters {
+
+    record Counter(UUID key, long weight, long error) {
+    }
+
+    private final int capacity;
+    private final Map<UUID, long[]> counters;
+
+    HeavyHitters(int capacity) {
+        this.capacity = capacity;
+        this.counters = HashMap.newHashMap(capacity);
+    }
+
+    void add(UUID key, long weight) {
+        var counter = counters.get(key);
+        if (counter != null) {
+            counter[0] += weight;
+        } else if (counters.size() < capacity) {
+            counters.put(key, new long[]{weight, 0});
+        } else {
+            var smallest = counters.entrySet().stream().min(Comparator.comparingLong(e -> e.getValue()[0])).orElseThrow();
+            var floor = smallest.getValue()[0];
+            counters.remove(smallest.getKey());
+            counters.put(key, new long[]{floor + weight, floor});
+        }
+    }
+
+    /**
+     * Adds the tracked weights and errors to {@code into}, keyed by account.
+     */
+    void mergeInto(Map<UUID, long[]> into) {
+        counters.forEach((key, counter) -> {
+            var merged = into.computeIfAbsent(key, k -> new long[2]);
+            merged[0] += counter[0];
+            merged[1] += counter[1];
+        });
+    }
+
+    static List<Counter> top(Map<UUID, long[]> merged, int n) {
+        return merged.entrySet().stream()
+                .map(e -> new Counter(e.getKey(), e.getValue()[0], e.getValue()[1]))
+                .sorted(Comparator.comparingLong(Counter::weight).reversed())
+                .limit(n)
+                .toList();
+    }
+}
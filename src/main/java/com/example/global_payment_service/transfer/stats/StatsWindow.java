@@ -0,0 +1,39 @@
+package com.example.global_payment_service.transfer.stats;
+
+import java.time.Duration;
+
+/**
+ * The sliding windows statistics are kept for. Each is a ring of {@code buckets} buckets of {@code bucketSize}, so a
+ * window covers between {@code buckets - 1} and {@code buckets} bucket lengths of history.
+ */
+public enum StatsWindow {
+    ONE_MINUTE("1m", Duration.ofSeconds(1), 60),
+    ONE_HOUR("1h", Duration.ofMinutes(1), 60),
+    ONE_DAY("24h", Duration.ofMinutes(15), 96);
+
+    private final String label;
+    private final Duration bucketSize;
+    private final int buckets;
+
+    StatsWindow(String label, Duration bucketSize, int buckets) {
+        this.label = label;
+        this.bucketSize = bucketSize;
+        this.buckets = buckets;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Duration getBucketSize() {
+        return bucketSize;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public Duration span() {
+        return bucketSize.multipliedBy(buckets);
+    }
+}
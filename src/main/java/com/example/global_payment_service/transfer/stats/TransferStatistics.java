@@ -0,0 +1,130 @@
+package com.example.global_payment_service.transfer.stats;
+
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.transfer.TransferCompletedEvent;
+import com.example.global_payment_service.transfer.monitor.TransferViewRepository;
+import com.example.global_payment_service.transfer.stats.api.AccountTurnoverDto;
+import com.example.global_payment_service.transfer.stats.api.CurrencyStatsDto;
+import com.example.global_payment_service.transfer.stats.api.TransferStatsDto;
+import com.example.global_payment_service.transfer.stats.api.WindowStatsDto;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-currency transfer counts, volumes and top accounts by turnover over the {@link StatsWindow}s, maintained in
+ * memory as transfers commit instead of being computed from the transfer table.
+ * <p>
+ * Transfers committed before this instance started are replayed from the database once the application is ready.
+ * Transfers completed before {@link #liveSince} are left to that replay and ignored when their commit is observed,
+ * so none is counted twice. Only the commits observed by this instance are counted after that, so with several
+ * instances the statistics are instance-local from {@link #liveSince} on.
+ */
+@Log4j2
+@Service
+public class TransferStatistics {
+
+    private static final StatsWindow[] WINDOWS = StatsWindow.values();
+
+    private final TransferStatsProperties properties;
+    private final TransferViewRepository transferViewRepository;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Map<Currency, WindowRing[]> rings = new EnumMap<>(Currency.class);
+    private final Instant liveSince = Instant.now();
+
+    private volatile boolean recovered;
+
+    public TransferStatistics(
+            TransferStatsProperties properties,
+            TransferViewRepository transferViewRepository,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.properties = properties;
+        this.transferViewRepository = transferViewRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        for (var currency : Currency.values()) {
+            rings.put(currency, Arrays.stream(WINDOWS)
+                    .map(window -> new WindowRing(window, properties.sketchCapacity()))
+                    .toArray(WindowRing[]::new));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransferCompleted(TransferCompletedEvent event) {
+        var completedAt = event.completedAt() == null ? Instant.now() : event.completedAt();
+        if (completedAt.isBefore(liveSince)) return;
+
+        record(event.senderId(), event.recipientId(), event.amount().currency(), event.amount().amount(), completedAt);
+    }
+
+    /**
+     * Replays the transfers completed in the longest window before this instance started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        if (!properties.recoverOnStartup() || recovered) {
+            recovered = true;
+            return;
+        }
+
+        var since = liveSince.minus(StatsWindow.ONE_DAY.span());
+        var replayed = readOnlyTransactionTemplate.execute(status -> {
+            long count = 0;
+            try (var transfers = transferViewRepository.streamCreatedBetween(since, liveSince)) {
+                for (var iterator = transfers.iterator(); iterator.hasNext(); count++) {
+                    var transfer = iterator.next();
+                    var amount = transfer.amount().movePointRight(transfer.currency().getScale()).longValueExact();
+                    record(transfer.senderId(), transfer.recipientId(), transfer.currency(), amount, transfer.createdAt());
+                }
+            }
+            return count;
+        });
+        recovered = true;
+        log.info("Replayed {} transfers into the transfer statistics", replayed);
+    }
+
+    public TransferStatsDto snapshot() {
+        var now = Instant.now();
+        var windows = new ArrayList<WindowStatsDto>(WINDOWS.length);
+        for (var window : WINDOWS) {
+            var currencies = new ArrayList<CurrencyStatsDto>();
+            rings.forEach((currency, currencyRings) -> {
+                var snapshot = currencyRings[window.ordinal()].snapshot(now.toEpochMilli(), properties.topAccounts());
+                var topAccounts = snapshot.topAccounts().stream()
+                        .map(counter -> new AccountTurnoverDto(
+                                counter.key(),
+                                BigDecimal.valueOf(counter.weight(), currency.getScale()),
+                                BigDecimal.valueOf(counter.error(), currency.getScale())))
+                        .toList();
+                currencies.add(new CurrencyStatsDto(
+                        currency,
+                        snapshot.count(),
+                        BigDecimal.valueOf(snapshot.volume(), currency.getScale()),
+                        topAccounts));
+            });
+            windows.add(new WindowStatsDto(window.getLabel(), currencies));
+        }
+        return new TransferStatsDto(now, recovered, liveSince, windows);
+    }
+
+    private void record(UUID senderId, UUID recipientId, Currency currency, long amount, Instant completedAt) {
+        var epochMillis = completedAt.toEpochMilli();
+        for (var ring : rings.get(currency)) {
+            ring.record(epochMillis, amount, senderId, recipientId);
+        }
+    }
+}
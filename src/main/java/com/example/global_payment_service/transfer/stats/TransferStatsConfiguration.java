@@ -0,0 +1,9 @@
+package com.example.global_payment_service.transfer.stats;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(TransferStatsProperties.class)
+public class TransferStatsConfiguration {
+}
@@ -0,0 +1,25 @@
+package com.example.global_payment_service.transfer.stats;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param topAccounts      how many accounts with the highest turnover are reported per currency and window
+ * @param sketchCapacity   how many accounts every time bucket tracks to find them; at least {@code topAccounts}
+ * @param recoverOnStartup whether the windows are rebuilt from the transfers of the last 24 hours on startup
+ */
+@ConfigurationProperties(prefix = "transfer.stats")
+public record TransferStatsProperties(
+        @DefaultValue("10") int topAccounts,
+        @DefaultValue("64") int sketchCapacity,
+        @DefaultValue("true") boolean recoverOnStartup
+) {
+    public TransferStatsProperties {
+        if (topAccounts < 1) {
+            throw new IllegalArgumentException("transfer.stats.top-accounts must be positive");
+        }
+        if (sketchCapacity < topAccounts) {
+            throw new IllegalArgumentException("transfer.stats.sketch-capacity must be at least transfer.stats.top-accounts");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.global_payment_service.transfer.stats;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A sliding window of one currency, as a ring of time buckets. Counts and volumes are {@link LongAdder}s, so
+ * concurrent transfers don't contend on them; only the small top-account sketch of a bucket is updated under its
+ * monitor. A bucket that falls out of the window is replaced, not cleared, by the first transfer of the bucket that
+ * reuses its slot, so writers never reset counters someone else is adding to.
+ */
+class WindowRing {
+
+    record Snapshot(long count, long volume, List<HeavyHitters.Counter> topAccounts) {
+    }
+
+    private static final class Bucket {
+        final long epoch;
+        final LongAdder count = new LongAdder();
+        final LongAdder volume = new LongAdder();
+        final HeavyHitters turnover;
+
+        Bucket(long epoch, int sketchCapacity) {
+            this.epoch = epoch;
+            this.turnover = new HeavyHitters(sketchCapacity);
+        }
+    }
+
+    private final long bucketMillis;
+    private final int size;
+    private final int sketchCapacity;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    WindowRing(StatsWindow window, int sketchCapacity) {
+        this.bucketMillis = window.getBucketSize().toMillis();
+        this.size = window.getBuckets();
+        this.sketchCapacity = sketchCapacity;
+        this.buckets = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+     * Records a transfer of {@code amount} minor units completed at {@code epochMillis}. Transfers older than the
+     * slot's current bucket are dropped, they have already left the window.
+     */
+    void record(long epochMillis, long amount, UUID senderId, UUID recipientId) {
+        var bucket = bucketFor(Math.floorDiv(epochMillis, bucketMillis));
+        if (bucket == null) return;
+
+        bucket.count.increment();
+        bucket.volume.add(amount);
+        synchronized (bucket.turnover) {
+            bucket.turnover.add(senderId, amount);
+            bucket.turnover.add(recipientId, amount);
+        }
+    }
+
+    Snapshot snapshot(long nowMillis, int topAccounts) {
+        var current = Math.floorDiv(nowMillis, bucketMillis);
+        long count = 0;
+        long volume = 0;
+        var turnover = new HashMap<UUID, long[]>();
+        for (int i = 0; i < size; i++) {
+            var bucket = buckets.get(i);
+            if (bucket == null || bucket.epoch <= current - size || bucket.epoch > current) continue;
+
+            count += bucket.count.sum();
+            volume += bucket.volume.sum();
+            synchronized (bucket.turnover) {
+                bucket.turnover.mergeInto(turnover);
+            }
+        }
+        return new Snapshot(count, volume, HeavyHitters.top(turnover, topAccounts));
+    }
+
+    private Bucket bucketFor(long epoch) {
+        var slot = (int) Math.floorMod(epoch, (long) size);
+        while (true) {
+            var bucket = buckets.get(slot);
+            if (bucket != null && bucket.epoch == epoch) return bucket;
+            if (bucket != null && bucket.epoch > epoch) return null;
+
+            var fresh = new Bucket(epoch, sketchCapacity);
+            if (buckets.compareAndSet(slot, bucket, fresh)) return fresh;
+        }
+    }
+}
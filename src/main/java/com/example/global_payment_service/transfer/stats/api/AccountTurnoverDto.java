@@ -0,0 +1,15 @@
+package com.example.global_payment_service.transfer.stats.api;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * @param turnover        sent plus received in the currency, possibly overestimated by at most {@code maxOverestimate}
+ * @param maxOverestimate the error bound of the heavy-hitters sketch the turnover comes from
+ */
+public record AccountTurnoverDto(
+        UUID accountId,
+        BigDecimal turnover,
+        BigDecimal maxOverestimate
+) {
+}
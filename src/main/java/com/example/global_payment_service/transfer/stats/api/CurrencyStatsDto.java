@@ -0,0 +1,14 @@
+package com.example.global_payment_service.transfer.stats.api;
+
+import com.example.global_payment_service.account.Currency;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record CurrencyStatsDto(
+        Currency currency,
+        long count,
+        BigDecimal volume,
+        List<AccountTurnoverDto> topAccounts
+) {
+}
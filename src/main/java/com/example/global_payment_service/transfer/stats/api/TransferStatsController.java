@@ -0,0 +1,23 @@
+package com.example.global_payment_service.transfer.stats.api;
+
+import com.example.global_payment_service.transfer.stats.TransferStatistics;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("api/transfers")
+public class TransferStatsController {
+
+    private final TransferStatistics transferStatistics;
+
+    public TransferStatsController(TransferStatistics transferStatistics) {
+        this.transferStatistics = transferStatistics;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<TransferStatsDto> getStats() {
+        return ResponseEntity.ok(transferStatistics.snapshot());
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.global_payment_service.transfer.stats.api;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @param recovered          whether the transfers committed before startup have been replayed into the windows yet
+ * @param instanceLocalSince when this instance started: transfers completed before it are replayed from the database
+ *                           for all instances, transfers completed since are only counted if this instance made them
+ */
+public record TransferStatsDto(
+        Instant generatedAt,
+        boolean recovered,
+        Instant instanceLocalSince,
+        List<WindowStatsDto> windows
+) {
+}
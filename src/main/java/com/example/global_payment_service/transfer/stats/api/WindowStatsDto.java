@@ -0,0 +1,9 @@
+package com.example.global_payment_service.transfer.stats.api;
+
+import java.util.List;
+
+public record WindowStatsDto(
+        String window,
+        List<CurrencyStatsDto> currencies
+) {
+}
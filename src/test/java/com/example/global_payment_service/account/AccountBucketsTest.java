@@ -0,0 +1,124 @@
+package com.example.global_payment_service.account;
+
+import com.example.global_payment_service.transfer.TransferEngine;
+import com.example.global_payment_service.transfer.exception.InsufficientFundsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AccountBucketsTest {
+
+    @Autowired
+    private AccountBuckets accountBuckets;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBucketRepository bucketRepository;
+
+    @Autowired
+    private TransferEngine transferEngine;
+
+    @Test
+    void shouldCreditBucketsInsteadOfTheAccount() {
+        // given
+        var recipient = accountRepository.save(new Account(BigDecimal.ZERO, Currency.EUR)).getId();
+        accountBuckets.setBucketCount(recipient, 8);
+        var senders = new ArrayList<UUID>();
+        for (int i = 0; i < 50; i++) {
+            senders.add(accountRepository.save(new Account(BigDecimal.TEN, Currency.EUR)).getId());
+        }
+
+        // when
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var sender : senders) {
+                executor.submit(() -> transferEngine.transfer(sender, recipient, Money.of(BigDecimal.ONE, Currency.EUR)));
+            }
+        }
+
+        // then
+        var account = accountRepository.findById(recipient).orElseThrow();
+        assertEquals(Money.zero(Currency.EUR), account.getBalance());
+        assertEquals(Money.of(new BigDecimal(50), Currency.EUR), accountBuckets.balanceOf(account));
+    }
+
+    @Test
+    void shouldDrainBucketsWhenTheAccountAloneCannotCoverADebit() {
+        // given
+        var account = accountRepository.save(new Account(new BigDecimal(5), Currency.EUR)).getId();
+        var other = accountRepository.save(new Account(new BigDecimal(30), Currency.EUR)).getId();
+        accountBuckets.setBucketCount(account, 4);
+        transferEngine.transfer(other, account, Money.of(new BigDecimal(30), Currency.EUR));
+
+        // when
+        transferEngine.transfer(account, other, Money.of(new BigDecimal(25), Currency.EUR));
+
+        // then
+        var stored = accountRepository.findById(account).orElseThrow();
+        assertEquals(Money.of(new BigDecimal(10), Currency.EUR), stored.getBalance());
+        assertEquals(0, bucketRepository.sumBalance(account));
+    }
+
+    @Test
+    void shouldLetBucketedAccountsPayEachOtherConcurrently() throws InterruptedException {
+        // given
+        var funder = accountRepository.save(new Account(new BigDecimal(20), Currency.EUR)).getId();
+        var first = accountRepository.save(new Account(BigDecimal.ZERO, Currency.EUR)).getId();
+        var second = accountRepository.save(new Account(BigDecimal.ZERO, Currency.EUR)).getId();
+        accountBuckets.setBucketCount(first, 4);
+        accountBuckets.setBucketCount(second, 4);
+        transferEngine.transfer(funder, first, Money.of(BigDecimal.TEN, Currency.EUR));
+        transferEngine.transfer(funder, second, Money.of(BigDecimal.TEN, Currency.EUR));
+
+        // when
+        var results = new ArrayList<Future<?>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(() -> transferEngine.transfer(first, second, Money.of(BigDecimal.TEN, Currency.EUR))));
+                results.add(executor.submit(() -> transferEngine.transfer(second, first, Money.of(BigDecimal.TEN, Currency.EUR))));
+            }
+        }
+
+        // then
+        for (var result : results) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                assertInstanceOf(InsufficientFundsException.class, e.getCause());
+            }
+        }
+        var total = accountBuckets.balanceOf(accountRepository.findById(first).orElseThrow())
+                .plus(accountBuckets.balanceOf(accountRepository.findById(second).orElseThrow()));
+        assertEquals(Money.of(new BigDecimal(20), Currency.EUR), total);
+    }
+
+    @Test
+    void shouldMoveBucketBalancesBackWhenBucketsAreRemoved() {
+        // given
+        var account = accountRepository.save(new Account(BigDecimal.ONE, Currency.EUR)).getId();
+        var other = accountRepository.save(new Account(new BigDecimal(20), Currency.EUR)).getId();
+        accountBuckets.setBucketCount(account, 4);
+        transferEngine.transfer(other, account, Money.of(new BigDecimal(20), Currency.EUR));
+
+        // when
+        var updated = accountBuckets.setBucketCount(account, 0).orElseThrow();
+
+        // then
+        assertEquals(0, updated.getBucketCount());
+        assertEquals(Money.of(new BigDecimal(21), Currency.EUR), updated.getBalance());
+        assertTrue(bucketRepository.findAll().stream().noneMatch(bucket -> bucket.getAccountId().equals(account)));
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.global_payment_service.account;
+
+import com.example.global_payment_service.account.api.AccountDto;
+import com.example.global_payment_service.transfer.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class AccountCacheTest {
+
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountBuckets accountBuckets;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldNotServeBalancesFromBeforeACommittedTransfer() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR)).getId();
+        var recipient = accountRepository.save(new Account(BigDecimal.ZERO, Currency.EUR)).getId();
+        accountCache.findAll(List.of(sender, recipient));
+
+        // when
+        transferService.transfer(sender, recipient, Money.of(new BigDecimal(30), Currency.EUR));
+
+        // then
+        assertEquals(new BigDecimal("70.00"), accountCache.find(sender).orElseThrow().balance());
+        assertEquals(new BigDecimal("30.00"), accountCache.find(recipient).orElseThrow().balance());
+    }
+
+    @Test
+    void shouldServeCachedBalancesUntilEvicted() {
+        // given
+        var cache = new AccountCache(accountRepository, new AccountCacheProperties(true, 100, 100, Duration.ofMinutes(1)));
+        var account = accountRepository.save(new Account(BigDecimal.TEN, Currency.USD)).getId();
+        cache.find(account);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> accountRepository.addToBalance(account, 500));
+
+        // when
+        var cached = cache.find(account).orElseThrow();
+        cache.evict(account);
+        var reloaded = cache.find(account).orElseThrow();
+
+        // then
+        assertEquals(new BigDecimal("10.00"), cached.balance());
+        assertEquals(new BigDecimal("15.00"), reloaded.balance());
+    }
+
+    @Test
+    void shouldLookUpExistingAccountsInRequestedOrder() {
+        // given
+        var first = accountRepository.save(new Account(BigDecimal.ONE, Currency.HUF)).getId();
+        var bucketed = accountRepository.save(new Account(BigDecimal.ONE, Currency.HUF)).getId();
+        var other = accountRepository.save(new Account(new BigDecimal(20), Currency.HUF)).getId();
+        accountBuckets.setBucketCount(bucketed, 4);
+        transferService.transfer(other, bucketed, Money.of(new BigDecimal(20), Currency.HUF));
+
+        // when
+        var accounts = accountCache.findAll(List.of(bucketed, UUID.randomUUID(), first, bucketed));
+
+        // then
+        assertEquals(List.of(bucketed, first), accounts.stream().map(AccountDto::id).toList());
+        assertEquals(new BigDecimal("21.00"), accounts.getFirst().balance());
+        assertEquals(4, accounts.getFirst().bucketCount());
+    }
+
+    @Test
+    void shouldForgetTheProfileWhenTheBucketCountChanges() {
+        // given
+        var account = accountRepository.save(new Account(BigDecimal.ONE, Currency.EUR)).getId();
+        accountCache.findProfile(account);
+
+        // when
+        accountBuckets.setBucketCount(account, 2);
+
+        // then
+        assertTrue(accountCache.findProfile(account).orElseThrow().isBucketed());
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.global_payment_service.account;
+
+import com.example.global_payment_service.account.api.AccountImportResultDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+class AccountImportServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void shouldImportValidCsvRowsAndReportTheOthers() throws Exception {
+        // given
+        var importService = new AccountImportService(jdbcTemplate, transactionManager, objectMapper, new AccountImportProperties(2));
+        var csv = """
+                currency,balance
+                EUR,10.50
+                USD,-1
+                HUF,abc
+
+                GBP,1
+                USD,0.001
+                EUR,0
+                """;
+
+        // when
+        var results = importAccounts(importService, AccountImportFormat.CSV, csv);
+
+        // then
+        assertEquals(List.of(2L, 3L, 4L, 6L, 7L, 8L), results.stream().map(AccountImportResultDto::line).toList());
+        assertNotNull(results.get(0).id());
+        assertEquals("balance must not be negative", results.get(1).error());
+        assertEquals("invalid balance abc", results.get(2).error());
+        assertEquals("unknown currency GBP", results.get(3).error());
+        assertEquals("invalid balance 0.001 USD", results.get(4).error());
+        assertNotNull(results.get(5).id());
+
+        var imported = accountRepository.findById(results.get(0).id()).orElseThrow();
+        assertEquals(Money.of(new BigDecimal("10.50"), Currency.EUR), imported.getBalance());
+        assertEquals(0L, imported.getVersion());
+        assertEquals(Money.zero(Currency.EUR), accountRepository.findById(results.get(5).id()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void shouldImportNdjsonRowsInBatches() throws Exception {
+        // given
+        var importService = new AccountImportService(jdbcTemplate, transactionManager, objectMapper, new AccountImportProperties(3));
+        var ndjson = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            ndjson.append("{\"balance\": ").append(i).append(", \"currency\": \"HUF\"}\n");
+        }
+        ndjson.append("{\"balance\": 1, \"currency\": \"XYZ\"}\n");
+
+        // when
+        var results = importAccounts(importService, AccountImportFormat.NDJSON, ndjson.toString());
+
+        // then
+        assertEquals(11, results.size());
+        for (int i = 0; i < 10; i++) {
+            assertNull(results.get(i).error());
+            var account = accountRepository.findById(results.get(i).id()).orElseThrow();
+            assertEquals(Money.of(BigDecimal.valueOf(i), Currency.HUF), account.getBalance());
+        }
+        assertEquals("malformed row", results.get(10).error());
+    }
+
+    @Test
+    void shouldRejectCsvWithoutTheRequiredColumns() throws Exception {
+        // given
+        var importService = new AccountImportService(jdbcTemplate, transactionManager, objectMapper, new AccountImportProperties(2));
+
+        // when
+        var results = importAccounts(importService, AccountImportFormat.CSV, "amount,currency\n1,EUR\n");
+
+        // then
+        assertEquals(1, results.size());
+        assertEquals(1, results.getFirst().line());
+        assertNotNull(results.getFirst().error());
+    }
+
+    private List<AccountImportResultDto> importAccounts(AccountImportService importService, AccountImportFormat format, String body) throws Exception {
+        var out = new ByteArrayOutputStream();
+        importService.importAccounts(format, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, AccountImportResultDto.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.global_payment_service.account;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void shouldKeepAmountInMinorUnits() {
+        // given
+        var money = Money.of(new BigDecimal("12.3"), Currency.EUR);
+
+        // then
+        assertEquals(1230, money.amount());
+        assertEquals(new BigDecimal("12.30"), money.toBigDecimal());
+        assertEquals(money, Money.of(new BigDecimal("12.300"), Currency.EUR));
+    }
+
+    @Test
+    void shouldRejectMoreDecimalsThanTheMinorUnit() {
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("0.001"), Currency.EUR));
+    }
+
+    @Test
+    void shouldThrowInsteadOfOverflowing() {
+        // given
+        var max = new Money(Long.MAX_VALUE, Currency.EUR);
+        var cent = new Money(1, Currency.EUR);
+
+        // then
+        assertThrows(ArithmeticException.class, () -> max.plus(cent));
+        assertThrows(ArithmeticException.class, () -> new Money(Long.MIN_VALUE, Currency.EUR).negate());
+    }
+
+    @Test
+    void shouldRejectArithmeticAcrossCurrencies() {
+        var eur = Money.zero(Currency.EUR);
+        var huf = Money.zero(Currency.HUF);
+
+        assertThrows(IllegalArgumentException.class, () -> eur.plus(huf));
+    }
+
+    @Test
+    void shouldRoundConversionWithTheGivenMode() {
+        // given
+        var money = Money.of(new BigDecimal("0.05"), Currency.EUR);
+        var rate = new BigDecimal("0.5");
+
+        // then, 0.025 rounds to either neighbour depending on the mode
+        assertEquals(2, money.convert(Currency.USD, rate, RoundingMode.HALF_EVEN).amount());
+        assertEquals(3, money.convert(Currency.USD, rate, RoundingMode.HALF_UP).amount());
+        assertEquals(-2, money.negate().convert(Currency.USD, rate, RoundingMode.HALF_EVEN).amount());
+        assertEquals(-3, money.negate().convert(Currency.USD, rate, RoundingMode.FLOOR).amount());
+        assertThrows(ArithmeticException.class, () -> money.convert(Currency.USD, rate, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    void shouldMatchBigDecimalRoundingForEveryMode() {
+        var random = ThreadLocalRandom.current();
+        for (int i = 0; i < 10_000; i++) {
+            long dividend = random.nextLong(-1_000_000, 1_000_000);
+            long divisor = random.nextLong(1, 1_000);
+            for (var mode : RoundingMode.values()) {
+                if (mode == RoundingMode.UNNECESSARY) continue;
+
+                var expected = BigDecimal.valueOf(dividend).divide(BigDecimal.valueOf(divisor), 0, mode).longValueExact();
+                assertEquals(expected, Money.divide(dividend, divisor, mode), dividend + " / " + divisor + " " + mode);
+            }
+        }
+    }
+
+    @Test
+    void shouldFallBackToBigDecimalWhenTheProductDoesNotFitInALong() {
+        // given
+        var money = new Money(Long.MAX_VALUE / 1000, Currency.HUF);
+        var rate = new BigDecimal("0.0026379656");
+
+        // when
+        var converted = money.convert(Currency.EUR, rate, RoundingMode.HALF_EVEN);
+
+        // then
+        var expected = BigDecimal.valueOf(money.amount()).multiply(rate).setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+        assertEquals(expected, converted.amount());
+    }
+
+}
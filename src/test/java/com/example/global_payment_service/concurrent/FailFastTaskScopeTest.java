@@ -0,0 +1,91 @@
+package com.example.global_payment_service.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FailFastTaskScopeTest {
+
+    @Test
+    void shouldRunSubtasksConcurrently() throws InterruptedException {
+        // given
+        var bothStarted = new CountDownLatch(2);
+
+        // when
+        try (var scope = new FailFastTaskScope()) {
+            var first = scope.fork(() -> {
+                bothStarted.countDown();
+                bothStarted.await();
+                return 1;
+            });
+            var second = scope.fork(() -> {
+                bothStarted.countDown();
+                bothStarted.await();
+                return 2;
+            });
+            scope.join();
+
+            // then
+            assertEquals(1, first.get());
+            assertEquals(2, second.get());
+        }
+    }
+
+    @Test
+    void shouldCancelSiblingsAndRethrowFirstFailure() {
+        // given
+        var siblingInterrupted = new AtomicBoolean();
+
+        // when
+        Executable when = () -> {
+            try (var scope = new FailFastTaskScope()) {
+                scope.fork(() -> {
+                    try {
+                        Thread.sleep(Duration.ofMinutes(1));
+                    } catch (InterruptedException e) {
+                        siblingInterrupted.set(true);
+                        throw e;
+                    }
+                    return null;
+                });
+                scope.fork(() -> {
+                    throw new IllegalArgumentException("boom");
+                });
+                scope.join();
+            }
+        };
+
+        // then
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(IllegalArgumentException.class, when));
+        assertTrue(siblingInterrupted.get());
+    }
+
+    @Test
+    void shouldCancelSubtasksForkedAfterAFailure() {
+        // when
+        Executable when = () -> {
+            try (var scope = new FailFastTaskScope()) {
+                scope.fork(() -> {
+                    throw new IllegalArgumentException("boom");
+                });
+                Thread.sleep(200);
+                scope.fork(() -> {
+                    Thread.sleep(Duration.ofMinutes(1));
+                    return null;
+                });
+                scope.join();
+            }
+        };
+
+        // then
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(IllegalArgumentException.class, when));
+    }
+}
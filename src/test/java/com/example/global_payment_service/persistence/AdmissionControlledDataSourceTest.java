@@ -0,0 +1,75 @@
+package com.example.global_payment_service.persistence;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AdmissionControlledDataSourceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DataSource target = mock(DataSource.class);
+    private AdmissionControlledDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        var gate = new ConnectionAdmissionGate(1, Duration.ofMillis(50));
+        gate.bindTo(meterRegistry);
+        dataSource = new AdmissionControlledDataSource(target, gate);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+    }
+
+    @Test
+    void shouldRejectConnectionsBeyondTheLimit() throws SQLException {
+        // given
+        var held = dataSource.getConnection();
+
+        // when
+        Executable when = () -> dataSource.getConnection();
+
+        // then
+        assertNotNull(held);
+        assertThrows(SQLTransientConnectionException.class, when);
+        assertEquals(1.0, meterRegistry.get("db.admission.rejected").counter().count());
+    }
+
+    @Test
+    void shouldAdmitNextConnectionOnceOneIsClosed() throws SQLException {
+        // given
+        var held = dataSource.getConnection();
+
+        // when
+        held.close();
+        held.close();
+        var next = dataSource.getConnection();
+
+        // then
+        assertNotNull(next);
+        assertEquals(0.0, meterRegistry.get("db.admission.available").gauge().value());
+        assertEquals(2, meterRegistry.get("db.admission.wait").timer().count());
+    }
+
+    @Test
+    void shouldReleasePermitWhenTargetFails() throws SQLException {
+        // given
+        when(target.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        // when
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+
+        // then
+        assertEquals(1.0, meterRegistry.get("db.admission.available").gauge().value());
+    }
+}
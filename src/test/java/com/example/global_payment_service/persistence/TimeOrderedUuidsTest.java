@@ -0,0 +1,89 @@
+package com.example.global_payment_service.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeOrderedUuidsTest {
+
+    @Test
+    void shouldEncodeTheTimestampAsAVersion7Uuid() {
+        // given
+        var before = System.currentTimeMillis();
+
+        // when
+        var uuid = TimeOrderedUuids.next();
+
+        // then
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue(TimeOrderedUuids.timestampOf(uuid) >= before);
+    }
+
+    @Test
+    void shouldSortTheLowestIdOfAMillisecondFirst() {
+        // given
+        var uuid = TimeOrderedUuids.next();
+
+        // when
+        var lowest = TimeOrderedUuids.lowest(TimeOrderedUuids.timestampOf(uuid));
+
+        // then
+        assertEquals(7, lowest.version());
+        assertEquals(TimeOrderedUuids.timestampOf(uuid), TimeOrderedUuids.timestampOf(lowest));
+        assertTrue(compareUnsigned(lowest, uuid) < 0);
+    }
+
+    @Test
+    void shouldKeepIncreasingWhenTheClockGoesBackwards() {
+        // given
+        var now = System.currentTimeMillis();
+        var first = TimeOrderedUuids.next(now);
+
+        // when
+        var second = TimeOrderedUuids.next(now - 10_000);
+
+        // then
+        assertTrue(compareUnsigned(first, second) < 0);
+        assertTrue(TimeOrderedUuids.timestampOf(second) >= now);
+    }
+
+    @Test
+    void shouldGenerateStrictlyIncreasingIdsPerThreadUnderContention() {
+        // given
+        var sequences = new ConcurrentLinkedQueue<List<UUID>>();
+
+        // when
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 8).forEach(i -> executor.submit(() -> {
+                var ids = new ArrayList<UUID>();
+                for (int j = 0; j < 50_000; j++) ids.add(TimeOrderedUuids.next());
+                sequences.add(ids);
+            }));
+        }
+
+        // then
+        var unique = new HashSet<UUID>();
+        for (var ids : sequences) {
+            for (int i = 0; i < ids.size(); i++) {
+                assertTrue(unique.add(ids.get(i)));
+                if (i > 0) assertTrue(compareUnsigned(ids.get(i - 1), ids.get(i)) < 0);
+            }
+        }
+        assertEquals(400_000, unique.size());
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        var high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
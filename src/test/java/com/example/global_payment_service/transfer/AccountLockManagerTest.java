@@ -0,0 +1,74 @@
+package com.example.global_payment_service.transfer;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class AccountLockManagerTest {
+
+    private final AccountLockManager lockManager = new AccountLockManager(16);
+
+    @Test
+    void shouldNotDeadlockWhenLockingInOppositeOrder() {
+        // given
+        var a = UUID.randomUUID();
+        var b = UUID.randomUUID();
+
+        // when
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            try (var executor = Executors.newFixedThreadPool(2)) {
+                executor.submit(() -> lockRepeatedly(a, b));
+                executor.submit(() -> lockRepeatedly(b, a));
+            }
+        });
+    }
+
+    @Test
+    void shouldMutuallyExcludeTransfersOnTheSameAccount() {
+        // given
+        var hot = UUID.randomUUID();
+        var counter = new int[1];
+
+        // when
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    for (int j = 0; j < 10_000; j++) {
+                        try (var locked = lockManager.lock(hot, UUID.randomUUID())) {
+                            counter[0]++;
+                        }
+                    }
+                });
+            }
+        }
+
+        // then
+        assertEquals(80_000, counter[0]);
+    }
+
+    @Test
+    void shouldReleaseAllLocksOfRepeatedAccounts() {
+        // given
+        var a = UUID.randomUUID();
+
+        // when
+        lockManager.lock(List.of(a, a, a)).close();
+
+        // then
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> lockManager.lock(a, a).close());
+    }
+
+    private void lockRepeatedly(UUID first, UUID second) {
+        for (int i = 0; i < 100_000; i++) {
+            try (var locked = lockManager.lock(first, second)) {
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
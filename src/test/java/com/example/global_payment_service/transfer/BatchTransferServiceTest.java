@@ -0,0 +1,123 @@
+package com.example.global_payment_service.transfer;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.api.BatchTransferItemDto;
+import com.example.global_payment_service.transfer.api.BatchTransferResultDto;
+import com.example.global_payment_service.transfer.exchange.ExchangeService;
+import com.example.global_payment_service.transfer.idempotency.IdempotencyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class BatchTransferServiceTest {
+
+    @Autowired
+    private BatchTransferService batchTransferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransferEngine transferEngine;
+
+    @Autowired
+    private TransferOrchestratorService orchestratorService;
+
+    @Autowired
+    private ExchangeService exchangeService;
+
+    @Test
+    void shouldReportStatusPerItem() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        var completedKey = UUID.randomUUID();
+        var rejectedKey = UUID.randomUUID();
+        var unknownAccountKey = UUID.randomUUID();
+        var items = List.of(
+                new BatchTransferItemDto(completedKey, sender.getId(), recipient.getId(), new BigDecimal(61), Currency.EUR),
+                new BatchTransferItemDto(rejectedKey, sender.getId(), recipient.getId(), new BigDecimal(61), Currency.EUR),
+                new BatchTransferItemDto(unknownAccountKey, UUID.randomUUID(), recipient.getId(), BigDecimal.ONE, Currency.EUR),
+                new BatchTransferItemDto(completedKey, sender.getId(), recipient.getId(), new BigDecimal(61), Currency.EUR)
+        );
+
+        // when
+        var results = batchTransferService.handleBatch(items);
+
+        // then
+        assertEquals(
+                List.of(
+                        new BatchTransferResultDto(completedKey, TransferStatus.COMPLETED),
+                        new BatchTransferResultDto(rejectedKey, TransferStatus.BAD_REQUEST),
+                        new BatchTransferResultDto(unknownAccountKey, TransferStatus.BAD_REQUEST),
+                        new BatchTransferResultDto(completedKey, TransferStatus.COMPLETED)
+                ),
+                results
+        );
+        assertEquals(Money.of(new BigDecimal(39), Currency.EUR), accountRepository.findById(sender.getId()).orElseThrow().getBalance());
+        assertEquals(Money.of(new BigDecimal(111), Currency.EUR), accountRepository.findById(recipient.getId()).orElseThrow().getBalance());
+        assertEquals(TransferStatus.COMPLETED, idempotencyService.getStatus(completedKey).orElseThrow());
+        assertEquals(TransferStatus.BAD_REQUEST, idempotencyService.getStatus(rejectedKey).orElseThrow());
+        assertEquals(TransferStatus.BAD_REQUEST, idempotencyService.getStatus(unknownAccountKey).orElseThrow());
+    }
+
+    @Test
+    void shouldNotReapplyReplayedBatch() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        var items = List.of(
+                new BatchTransferItemDto(UUID.randomUUID(), sender.getId(), recipient.getId(), new BigDecimal(30), Currency.EUR),
+                new BatchTransferItemDto(UUID.randomUUID(), recipient.getId(), sender.getId(), new BigDecimal(5), Currency.EUR)
+        );
+        batchTransferService.handleBatch(items);
+
+        // when
+        var results = batchTransferService.handleBatch(items);
+
+        // then
+        results.forEach(result -> assertEquals(TransferStatus.COMPLETED, result.status()));
+        assertEquals(Money.of(new BigDecimal(75), Currency.EUR), accountRepository.findById(sender.getId()).orElseThrow().getBalance());
+        assertEquals(Money.of(new BigDecimal(75), Currency.EUR), accountRepository.findById(recipient.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void shouldLookUpKeysAndAccountsInChunks() {
+        // given
+        var service = new BatchTransferService(transferEngine, orchestratorService, idempotencyService,
+                accountRepository, exchangeService, new BatchTransferProperties(50000, 2));
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR)).getId();
+        var items = new ArrayList<BatchTransferItemDto>();
+        var recipients = new ArrayList<UUID>();
+        for (int i = 0; i < 5; i++) {
+            var recipient = accountRepository.save(new Account(BigDecimal.ZERO, Currency.EUR)).getId();
+            recipients.add(recipient);
+            items.add(new BatchTransferItemDto(UUID.randomUUID(), sender, recipient, BigDecimal.TEN, Currency.EUR));
+        }
+        service.handleBatch(items);
+
+        // when
+        var results = service.handleBatch(items);
+
+        // then
+        results.forEach(result -> assertEquals(TransferStatus.COMPLETED, result.status()));
+        assertEquals(Money.of(new BigDecimal(50), Currency.EUR), accountRepository.findById(sender).orElseThrow().getBalance());
+        for (var recipient : recipients) {
+            assertEquals(Money.of(BigDecimal.TEN, Currency.EUR), accountRepository.findById(recipient).orElseThrow().getBalance());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.global_payment_service.transfer;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransferCommitDeadlineTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void shouldRollBackTransactionsCommittedAfterTheDeadline() {
+        // given
+        var commitDeadline = new TransferCommitDeadline(entityManager, new TransferCommitProperties(Duration.ofMillis(1), Duration.ZERO));
+        var accountId = new AtomicReference<UUID>();
+
+        // when
+        assertThrows(TransactionTimedOutException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            commitDeadline.enforce();
+            accountId.set(accountRepository.save(new Account(BigDecimal.TEN, Currency.EUR)).getId());
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+
+        // then
+        assertTrue(accountRepository.findById(accountId.get()).isEmpty());
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.example.global_payment_service.transfer;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.transfer.api.TransferRequestDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransferMetricsTest {
+
+    @Autowired
+    private TransferOrchestratorService orchestratorService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldRecordStagesOutcomesAndDuplicates() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(BigDecimal.ZERO, Currency.EUR));
+        var request = new TransferRequestDto(sender.getId(), recipient.getId(), BigDecimal.TEN, Currency.EUR);
+        var idempotencyKey = UUID.randomUUID();
+        var completed = count("transfer.requests", "outcome", "completed");
+        var duplicates = meterRegistry.get("transfer.duplicates").counter().count();
+        var commits = count("transfer.stage", "stage", "commit");
+
+        // when
+        orchestratorService.handleTransferRequest(idempotencyKey, request);
+        orchestratorService.handleTransferRequest(idempotencyKey, request);
+
+        // then
+        assertEquals(completed + 2, count("transfer.requests", "outcome", "completed"));
+        assertEquals(duplicates + 1, meterRegistry.get("transfer.duplicates").counter().count());
+        assertTrue(count("transfer.stage", "stage", "commit") > commits);
+        assertTrue(count("transfer.stage", "stage", "balance_update") > 0);
+        assertTrue(count("transfer.stage", "stage", "account_lookup") > 0);
+        assertTrue(meterRegistry.get("transfer.transaction").timer().count() > 0);
+        assertEquals(0, meterRegistry.get("transfer.transactions.active").gauge().value());
+    }
+
+    private long count(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).timer().count();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.global_payment_service.transfer;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.api.TransferRequestDto;
+import com.example.global_payment_service.transfer.idempotency.Idempotency;
+import com.example.global_payment_service.transfer.idempotency.IdempotencyProperties;
+import com.example.global_payment_service.transfer.idempotency.IdempotencyRepository;
+import com.example.global_payment_service.transfer.idempotency.IdempotencyService;
+import com.example.global_payment_service.transfer.idempotency.IdempotencyStatusCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+class TransferOrchestratorServiceTest {
+
+    @Autowired
+    private TransferOrchestratorService orchestratorService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private IdempotencyRepository idempotencyRepository;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransferEngine transferEngine;
+
+    @Autowired
+    private IdempotencyStatusCache statusCache;
+
+    @Autowired
+    private TransferMetrics metrics;
+
+    @Test
+    void shouldCommitTransferAndStatusOnceForReplayedKey() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        var idempotencyKey = UUID.randomUUID();
+        var request = new TransferRequestDto(sender.getId(), recipient.getId(), new BigDecimal(75), Currency.EUR);
+
+        // when
+        var first = orchestratorService.handleTransferRequest(idempotencyKey, request);
+        var replay = orchestratorService.handleTransferRequest(idempotencyKey, request);
+
+        // then
+        assertEquals(TransferStatus.COMPLETED, first);
+        assertEquals(TransferStatus.COMPLETED, replay);
+        assertEquals(Optional.of(TransferStatus.COMPLETED), idempotencyService.getStatus(idempotencyKey));
+        assertEquals(Money.of(new BigDecimal(25), Currency.EUR), accountRepository.findById(sender.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void shouldNotTransferIfKeyWasAlreadyRecorded() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        var idempotencyKey = UUID.randomUUID();
+        idempotencyRepository.save(new Idempotency(idempotencyKey, TransferStatus.COMPLETED));
+        var request = new TransferRequestDto(sender.getId(), recipient.getId(), new BigDecimal(75), Currency.EUR);
+
+        // when
+        var status = orchestratorService.handleTransferRequest(idempotencyKey, request);
+
+        // then
+        assertEquals(TransferStatus.COMPLETED, status);
+        assertEquals(Money.of(new BigDecimal(100), Currency.EUR), accountRepository.findById(sender.getId()).orElseThrow().getBalance());
+        assertEquals(Money.of(new BigDecimal(50), Currency.EUR), accountRepository.findById(recipient.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void shouldRecordRejectedTransfer() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        var idempotencyKey = UUID.randomUUID();
+        var request = new TransferRequestDto(sender.getId(), recipient.getId(), new BigDecimal(101), Currency.EUR);
+
+        // when
+        var status = orchestratorService.handleTransferRequest(idempotencyKey, request);
+
+        // then
+        assertEquals(TransferStatus.BAD_REQUEST, status);
+        assertEquals(Optional.of(TransferStatus.BAD_REQUEST), idempotencyService.getStatus(idempotencyKey));
+        assertEquals(Money.of(new BigDecimal(100), Currency.EUR), accountRepository.findById(sender.getId()).orElseThrow().getBalance());
+    }
+
+    @Test
+    void shouldRecordTheKeyInTheTransferTransactionInSingleCommitMode() {
+        // given
+        var singleCommitOrchestrator = new TransferOrchestratorService(transferEngine, idempotencyService, statusCache, metrics,
+                new IdempotencyProperties(true, Duration.ofDays(7), Duration.ofMinutes(1), 1000, 100));
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        var idempotencyKey = UUID.randomUUID();
+        var request = new TransferRequestDto(sender.getId(), recipient.getId(), new BigDecimal(75), Currency.EUR);
+
+        // when
+        var first = singleCommitOrchestrator.handleTransferRequest(idempotencyKey, request);
+        var replay = singleCommitOrchestrator.handleTransferRequest(idempotencyKey, request);
+
+        // then
+        assertEquals(TransferStatus.COMPLETED, first);
+        assertEquals(TransferStatus.COMPLETED, replay);
+        assertEquals(Optional.of(TransferStatus.COMPLETED), idempotencyService.getStatus(idempotencyKey));
+        assertEquals(Money.of(new BigDecimal(25), Currency.EUR), accountRepository.findById(sender.getId()).orElseThrow().getBalance());
+    }
+
+}
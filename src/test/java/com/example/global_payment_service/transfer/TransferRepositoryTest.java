@@ -3,6 +3,7 @@ package com.example.global_payment_service.transfer;
 import com.example.global_payment_service.account.Account;
 import com.example.global_payment_service.account.AccountRepository;
 import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -27,7 +28,7 @@ class TransferRepositoryTest {
         // given
         var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
         var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
-        var transfer = new Transfer(sender, recipient, BigDecimal.ONE, Currency.EUR);
+        var transfer = new Transfer(sender, recipient, Money.of(BigDecimal.ONE, Currency.EUR));
 
         // when
         var saved = transferRepository.save(transfer);
@@ -35,7 +36,7 @@ class TransferRepositoryTest {
         // then
         assertEquals(sender, saved.getSender());
         assertEquals(recipient, saved.getRecipient());
-        assertEquals(BigDecimal.ONE, saved.getBalance());
+        assertEquals(Money.of(BigDecimal.ONE, Currency.EUR), saved.getBalance());
         assertEquals(Currency.EUR, saved.getCurrency());
     }
 
@@ -46,11 +47,11 @@ class TransferRepositoryTest {
         var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
         transferRepository.saveAllAndFlush(
                 List.of(
-                        new Transfer(sender, recipient, new BigDecimal(1), Currency.EUR),
-                        new Transfer(sender, recipient, new BigDecimal(2), Currency.EUR),
-                        new Transfer(sender, recipient, new BigDecimal(3), Currency.EUR),
-                        new Transfer(sender, recipient, new BigDecimal(4), Currency.EUR),
-                        new Transfer(sender, recipient, new BigDecimal(5), Currency.EUR)
+                        new Transfer(sender, recipient, Money.of(new BigDecimal(1), Currency.EUR)),
+                        new Transfer(sender, recipient, Money.of(new BigDecimal(2), Currency.EUR)),
+                        new Transfer(sender, recipient, Money.of(new BigDecimal(3), Currency.EUR)),
+                        new Transfer(sender, recipient, Money.of(new BigDecimal(4), Currency.EUR)),
+                        new Transfer(sender, recipient, Money.of(new BigDecimal(5), Currency.EUR))
                 )
         );
 
@@ -1,17 +1,35 @@
 package com.example.global_payment_service.transfer;
 
 import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountBuckets;
+import com.example.global_payment_service.account.AccountCache;
 import com.example.global_payment_service.account.AccountRepository;
-import com.example.global_payment_service.account.Balance;
 import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.exception.InsufficientFundsException;
+import com.example.global_payment_service.transfer.exception.InvalidAmountException;
+import com.example.global_payment_service.transfer.exchange.ExchangeService;
+import com.example.global_payment_service.transfer.exchange.MockExchangeRateProperties;
+import com.example.global_payment_service.transfer.exchange.client.ExchangeRateClient;
+import com.example.global_payment_service.transfer.exchange.client.MockExchangeRateClient;
+import com.example.global_payment_service.transfer.idempotency.IdempotencyService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
 class TransferServiceTest {
@@ -25,6 +43,30 @@ class TransferServiceTest {
     @Autowired
     private TransferRepository transferRepository;
 
+    @Autowired
+    private AccountCache accountCache;
+
+    @Autowired
+    private AccountBuckets accountBuckets;
+
+    @Autowired
+    private RetryingTransactionExecutor transactionExecutor;
+
+    @Autowired
+    private AccountLockManager accountLockManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TransferMetrics metrics;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void shouldBeAbleToTransfer() {
         // given
@@ -32,20 +74,147 @@ class TransferServiceTest {
         var account1 = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
 
         // when
-        transferService.transfer(account0.getId(), account1.getId(), new Balance(new BigDecimal(75), Currency.EUR));
+        transferService.transfer(account0.getId(), account1.getId(), Money.of(new BigDecimal(75), Currency.EUR));
 
         // then
         var sender = accountRepository.findById(account0.getId()).orElseThrow();
         var recipient = accountRepository.findById(account1.getId()).orElseThrow();
-        assertEquals(new BigDecimal(25), sender.getBalance().stripTrailingZeros());
-        assertEquals(new BigDecimal(125), recipient.getBalance().stripTrailingZeros());
+        assertEquals(Money.of(new BigDecimal(25), Currency.EUR), sender.getBalance());
+        assertEquals(Money.of(new BigDecimal(125), Currency.EUR), recipient.getBalance());
 
-        var transfer = transferRepository.findAll().getFirst();
+        var transfer = transferRepository.findAll().stream()
+                .filter(t -> t.getSender().equals(sender))
+                .findFirst()
+                .orElseThrow();
         assertNotNull(transfer);
         assertEquals(sender, transfer.getSender());
         assertEquals(recipient, transfer.getRecipient());
-        assertEquals(new BigDecimal(75), transfer.getBalance().stripTrailingZeros());
+        assertEquals(Money.of(new BigDecimal(75), Currency.EUR), transfer.getBalance());
         assertEquals(Currency.EUR, transfer.getCurrency());
     }
 
+    @Test
+    void shouldNotLoseUpdatesWhenTransferringConcurrentlyInBothDirections() {
+        // given
+        var account0 = accountRepository.save(new Account(new BigDecimal(1001), Currency.EUR));
+        var account1 = accountRepository.save(new Account(new BigDecimal(999), Currency.EUR));
+
+        // when
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                executor.submit(() -> transferService.transfer(account0.getId(), account1.getId(), Money.of(BigDecimal.ONE, Currency.EUR)));
+                executor.submit(() -> transferService.transfer(account1.getId(), account0.getId(), Money.of(BigDecimal.TWO, Currency.EUR)));
+            }
+        }
+
+        // then
+        var sender = accountRepository.findById(account0.getId()).orElseThrow();
+        var recipient = accountRepository.findById(account1.getId()).orElseThrow();
+        assertEquals(Money.of(new BigDecimal(1051), Currency.EUR), sender.getBalance());
+        assertEquals(Money.of(new BigDecimal(949), Currency.EUR), recipient.getBalance());
+    }
+
+    @Test
+    void shouldLookUpExchangeRatesOutsideTheTransaction() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR)).getId();
+        var recipient = accountRepository.save(new Account(BigDecimal.ZERO, Currency.HUF)).getId();
+        var transactionActive = new CopyOnWriteArrayList<Boolean>();
+        var service = transferServiceWithRateLookup(() ->
+                transactionActive.add(TransactionSynchronizationManager.isActualTransactionActive()));
+
+        // when
+        service.transfer(sender, recipient, Money.of(BigDecimal.TEN, Currency.EUR));
+
+        // then
+        assertFalse(transactionActive.isEmpty());
+        assertFalse(transactionActive.contains(true));
+        assertEquals(Money.of(new BigDecimal(90), Currency.EUR), accountRepository.findById(sender).orElseThrow().getBalance());
+    }
+
+    @Test
+    void shouldRejectAtCommitWhenFundsWereSpentAfterTheQuote() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR)).getId();
+        var recipient = accountRepository.save(new Account(BigDecimal.ZERO, Currency.HUF)).getId();
+        var service = transferServiceWithRateLookup(once(() ->
+                jdbcTemplate.update("update account set balance = 0 where id = ?", sender)));
+
+        // when
+        assertThrows(InsufficientFundsException.class, () ->
+                service.transfer(sender, recipient, Money.of(BigDecimal.TEN, Currency.EUR)));
+
+        // then
+        assertEquals(Money.zero(Currency.HUF), accountRepository.findById(recipient).orElseThrow().getBalance());
+    }
+
+    @Test
+    void shouldRejectAtCommitWhenTheCurrencyChangedAfterTheQuote() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR)).getId();
+        var recipient = accountRepository.save(new Account(BigDecimal.ZERO, Currency.HUF)).getId();
+        var service = transferServiceWithRateLookup(once(() ->
+                jdbcTemplate.update("update account set currency = 'USD' where id = ?", recipient)));
+
+        // when
+        assertThrows(IllegalStateException.class, () ->
+                service.transfer(sender, recipient, Money.of(BigDecimal.TEN, Currency.EUR)));
+
+        // then
+        assertEquals(Money.of(new BigDecimal(100), Currency.EUR), accountRepository.findById(sender).orElseThrow().getBalance());
+    }
+
+    @Test
+    void shouldDebitAtLeastOneMinorUnitForAmountsBelowTheSendersMinorUnit() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR)).getId();
+        var recipient = accountRepository.save(new Account(BigDecimal.ZERO, Currency.HUF)).getId();
+        var service = transferService(new MockExchangeRateClient(new MockExchangeRateProperties(Duration.ZERO, 0)));
+
+        // when
+        service.transfer(sender, recipient, Money.of(BigDecimal.ONE, Currency.HUF));
+
+        // then
+        assertEquals(Money.of(new BigDecimal("99.99"), Currency.EUR), accountRepository.findById(sender).orElseThrow().getBalance());
+        assertEquals(Money.of(BigDecimal.ONE, Currency.HUF), accountRepository.findById(recipient).orElseThrow().getBalance());
+    }
+
+    @Test
+    void shouldRejectTransfersThatWouldDebitNothing() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR)).getId();
+        var recipient = accountRepository.save(new Account(BigDecimal.ZERO, Currency.HUF)).getId();
+        var service = transferService((from, to) -> from == to ? BigDecimal.ONE : BigDecimal.ZERO);
+
+        // when
+        assertThrows(InvalidAmountException.class, () ->
+                service.transfer(sender, recipient, Money.of(BigDecimal.ONE, Currency.HUF)));
+
+        // then
+        assertEquals(Money.zero(Currency.HUF), accountRepository.findById(recipient).orElseThrow().getBalance());
+    }
+
+    /**
+     * A {@link TransferService} whose exchange rate lookups run {@code onLookup} and answer with fixed rates.
+     */
+    private TransferService transferServiceWithRateLookup(Runnable onLookup) {
+        return transferService((from, to) -> {
+            onLookup.run();
+            return from == to ? BigDecimal.ONE : new BigDecimal("400");
+        });
+    }
+
+    private TransferService transferService(ExchangeRateClient exchangeRateClient) {
+        var exchangeService = new ExchangeService(exchangeRateClient);
+        var validatorService = new TransferValidatorService(accountRepository, accountCache, accountBuckets, exchangeService, metrics);
+        return new TransferService(validatorService, accountRepository, transferRepository, transactionExecutor,
+                accountLockManager, accountBuckets, eventPublisher, idempotencyService, metrics);
+    }
+
+    private static Runnable once(Runnable action) {
+        var done = new AtomicBoolean();
+        return () -> {
+            if (done.compareAndSet(false, true)) action.run();
+        };
+    }
 }
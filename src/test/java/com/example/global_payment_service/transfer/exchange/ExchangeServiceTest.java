@@ -1,11 +1,12 @@
 package com.example.global_payment_service.transfer.exchange;
 
-import com.example.global_payment_service.account.Balance;
 import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
 import com.example.global_payment_service.transfer.exchange.client.MockExchangeRateClient;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -14,30 +15,44 @@ class ExchangeServiceTest {
     @Test
     void shouldBeAbleToExchangeFromEurToHuf() {
         // given
-        var balance = new Balance(BigDecimal.ONE, Currency.EUR);
+        var balance = Money.of(BigDecimal.ONE, Currency.EUR);
         var exchangeService = new ExchangeService(new MockExchangeRateClient());
 
         // when
-        var exchanged = exchangeService.exchangeTo(balance, Currency.HUF);
+        var exchanged = exchangeService.exchangeTo(balance, Currency.HUF, ExchangeService.CREDIT_ROUNDING);
 
         // then
-        var expected = new Balance(new BigDecimal("379.08"), Currency.HUF);
-        assertEquals(exchanged.amount().stripTrailingZeros(), expected.amount());
-        assertEquals(exchanged.currency(), expected.currency());
+        var expected = Money.of(new BigDecimal("379.08"), Currency.HUF);
+        assertEquals(exchanged, expected);
     }
 
     @Test
     void shouldBeAbleToExchangeFromHufToEur() {
         // given
-        var balance = new Balance(BigDecimal.ONE, Currency.HUF);
+        var balance = Money.of(BigDecimal.ONE, Currency.HUF);
         var exchangeService = new ExchangeService(new MockExchangeRateClient());
 
         // when
-        var exchanged = exchangeService.exchangeTo(balance, Currency.EUR);
+        var exchanged = exchangeService.exchangeTo(balance, Currency.EUR, ExchangeService.DEBIT_ROUNDING);
 
         // then
-        var expected = new Balance(new BigDecimal("0.0026379656"), Currency.EUR);
+        var expected = Money.of(new BigDecimal("0.01"), Currency.EUR);
         assertEquals(exchanged, expected);
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldRoundTheDebitUpAndTheCreditDown() {
+        // given
+        var balance = Money.of(BigDecimal.ONE, Currency.HUF);
+        var exchangeService = new ExchangeService(new MockExchangeRateClient(new MockExchangeRateProperties(Duration.ZERO, 0)));
+
+        // when
+        var debit = exchangeService.exchangeTo(balance, Currency.EUR, ExchangeService.DEBIT_ROUNDING);
+        var credit = exchangeService.exchangeTo(balance, Currency.EUR, ExchangeService.CREDIT_ROUNDING);
+
+        // then
+        assertEquals(Money.of(new BigDecimal("0.01"), Currency.EUR), debit);
+        assertEquals(Money.zero(Currency.EUR), credit);
+    }
+
+}
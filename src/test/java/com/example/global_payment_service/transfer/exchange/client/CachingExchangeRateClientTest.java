@@ -0,0 +1,146 @@
+package com.example.global_payment_service.transfer.exchange.client;
+
+import com.example.global_payment_service.account.Currency;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CachingExchangeRateClientTest {
+
+    private final CountingExchangeRateClient upstream = new CountingExchangeRateClient();
+    private final MutableClock clock = new MutableClock();
+    private final ExchangeRateMetrics metrics = new ExchangeRateMetrics();
+    private final CachingExchangeRateClient client = new CachingExchangeRateClient(
+            upstream,
+            Duration.ofSeconds(60),
+            Duration.ofSeconds(10),
+            Duration.ofMinutes(5),
+            clock,
+            Runnable::run,
+            metrics
+    );
+
+    @Test
+    void shouldNotCallUpstreamForIdentityPairs() {
+        // when
+        var rate = client.getExchangeRate(Currency.EUR, Currency.EUR);
+
+        // then
+        assertEquals(BigDecimal.ONE, rate);
+        assertEquals(0, upstream.calls.get());
+    }
+
+    @Test
+    void shouldServeFreshRateFromCache() {
+        // given
+        client.getExchangeRate(Currency.EUR, Currency.HUF);
+        clock.advance(Duration.ofSeconds(30));
+
+        // when
+        var rate = client.getExchangeRate(Currency.EUR, Currency.HUF);
+
+        // then
+        assertEquals(new BigDecimal("1"), rate);
+        assertEquals(1, upstream.calls.get());
+    }
+
+    @Test
+    void shouldRefreshAheadOfExpiryWhileServingCachedRate() {
+        // given
+        client.getExchangeRate(Currency.EUR, Currency.HUF);
+        clock.advance(Duration.ofSeconds(55));
+
+        // when
+        var rate = client.getExchangeRate(Currency.EUR, Currency.HUF);
+
+        // then
+        assertEquals(new BigDecimal("1"), rate);
+        assertEquals(2, upstream.calls.get());
+        assertEquals(new BigDecimal("2"), client.getExchangeRate(Currency.EUR, Currency.HUF));
+    }
+
+    @Test
+    void shouldCountHowLookupsWereAnswered() {
+        // given
+        var registry = new SimpleMeterRegistry();
+        metrics.bindTo(registry);
+
+        // when
+        client.getExchangeRate(Currency.EUR, Currency.HUF);
+        clock.advance(Duration.ofSeconds(30));
+        client.getExchangeRate(Currency.EUR, Currency.HUF);
+        clock.advance(Duration.ofSeconds(25));
+        client.getExchangeRate(Currency.EUR, Currency.HUF);
+
+        // then
+        assertEquals(1, registry.get("exchange.cache.requests").tag("result", "miss").functionCounter().count());
+        assertEquals(1, registry.get("exchange.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("exchange.cache.requests").tag("result", "stale").functionCounter().count());
+    }
+
+    @Test
+    void shouldLoadSynchronouslyOnceMaxStalenessIsExceeded() {
+        // given
+        client.getExchangeRate(Currency.EUR, Currency.HUF);
+        clock.advance(Duration.ofMinutes(10));
+
+        // when
+        var rate = client.getExchangeRate(Currency.EUR, Currency.HUF);
+
+        // then
+        assertEquals(new BigDecimal("2"), rate);
+        assertEquals(2, upstream.calls.get());
+    }
+
+    @Test
+    void shouldCachePairsIndependently() {
+        // when
+        client.getExchangeRate(Currency.EUR, Currency.HUF);
+        client.getExchangeRate(Currency.HUF, Currency.EUR);
+        client.getExchangeRate(Currency.EUR, Currency.HUF);
+
+        // then
+        assertEquals(2, upstream.calls.get());
+    }
+
+    private static final class CountingExchangeRateClient implements ExchangeRateClient {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public BigDecimal getExchangeRate(Currency from, Currency to) {
+            return new BigDecimal(calls.incrementAndGet());
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
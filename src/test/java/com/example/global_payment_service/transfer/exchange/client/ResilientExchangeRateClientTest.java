@@ -0,0 +1,170 @@
+package com.example.global_payment_service.transfer.exchange.client;
+
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.transfer.exception.ExchangeRateUnavailableException;
+import com.example.global_payment_service.transfer.exchange.ExchangeRateResilienceProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResilientExchangeRateClientTest {
+
+    private static final BigDecimal RATE = new BigDecimal("379.08");
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldCoalesceConcurrentLookupsOfTheSamePair() throws Exception {
+        // given
+        var release = new CountDownLatch(1);
+        var upstream = new ScriptedExchangeRateClient(call -> false, release);
+        var client = new ResilientExchangeRateClient(upstream, executor, properties(2, true));
+
+        // when
+        var results = new ArrayList<Future<BigDecimal>>();
+        for (int i = 0; i < 10; i++) {
+            results.add(executor.submit(() -> client.getExchangeRate(Currency.EUR, Currency.HUF)));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        // then
+        for (var result : results) {
+            assertEquals(RATE, result.get());
+        }
+        assertEquals(1, upstream.calls.get());
+    }
+
+    @Test
+    void shouldKeepTheSharedCallGoingWhenItsFirstCallerIsInterrupted() throws Exception {
+        // given
+        var release = new CountDownLatch(1);
+        var upstream = new ScriptedExchangeRateClient(call -> false, release);
+        var client = new ResilientExchangeRateClient(upstream, executor, properties(1, false));
+        var first = executor.submit(() -> client.getExchangeRate(Currency.EUR, Currency.HUF));
+        while (upstream.calls.get() == 0) Thread.sleep(1);
+        var second = executor.submit(() -> client.getExchangeRate(Currency.EUR, Currency.HUF));
+        Thread.sleep(100);
+
+        // when
+        first.cancel(true);
+        Thread.sleep(100);
+        release.countDown();
+
+        // then
+        assertEquals(RATE, second.get());
+        assertEquals(CircuitBreaker.State.CLOSED, client.circuitBreakerState());
+        assertEquals(1, upstream.calls.get());
+    }
+
+    @Test
+    void shouldRetryTransientFailures() {
+        // given
+        var upstream = new ScriptedExchangeRateClient(call -> call == 1, null);
+        var client = new ResilientExchangeRateClient(upstream, executor, properties(5, true));
+
+        // when
+        var rate = client.getExchangeRate(Currency.EUR, Currency.HUF);
+
+        // then
+        assertEquals(RATE, rate);
+        assertEquals(2, upstream.calls.get());
+    }
+
+    @Test
+    void shouldServeLastKnownGoodRateWhileCircuitIsOpen() {
+        // given
+        var upstream = new ScriptedExchangeRateClient(call -> call > 1, null);
+        var client = new ResilientExchangeRateClient(upstream, executor, properties(2, true));
+        client.getExchangeRate(Currency.EUR, Currency.HUF);
+
+        // when
+        var duringOutage = client.getExchangeRate(Currency.EUR, Currency.HUF);
+        var callsWhenOpened = upstream.calls.get();
+        var whileOpen = client.getExchangeRate(Currency.EUR, Currency.HUF);
+
+        // then
+        assertEquals(RATE, duringOutage);
+        assertEquals(RATE, whileOpen);
+        assertEquals(CircuitBreaker.State.OPEN, client.circuitBreakerState());
+        assertEquals(callsWhenOpened, upstream.calls.get());
+    }
+
+    @Test
+    void shouldFailFastWhileCircuitIsOpenWithoutKnownRate() {
+        // given
+        var upstream = new ScriptedExchangeRateClient(call -> true, null);
+        var client = new ResilientExchangeRateClient(upstream, executor, properties(2, false));
+        assertThrows(ExchangeRateUnavailableException.class, () -> client.getExchangeRate(Currency.EUR, Currency.HUF));
+        var callsWhenOpened = upstream.calls.get();
+
+        // when
+        Executable when = () -> client.getExchangeRate(Currency.EUR, Currency.HUF);
+
+        // then
+        assertThrows(ExchangeRateUnavailableException.class, when);
+        assertEquals(callsWhenOpened, upstream.calls.get());
+    }
+
+    private static ExchangeRateResilienceProperties properties(int failureThreshold, boolean serveLastKnownGood) {
+        return new ExchangeRateResilienceProperties(
+                true,
+                Duration.ofSeconds(5),
+                3,
+                Duration.ofMillis(1),
+                0.2,
+                20,
+                failureThreshold,
+                Duration.ofMinutes(1),
+                serveLastKnownGood,
+                Duration.ofHours(1)
+        );
+    }
+
+    private static final class ScriptedExchangeRateClient implements ExchangeRateClient {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final IntPredicate shouldFail;
+        private final CountDownLatch release;
+
+        private ScriptedExchangeRateClient(IntPredicate shouldFail, CountDownLatch release) {
+            this.shouldFail = shouldFail;
+            this.release = release;
+        }
+
+        @Override
+        public BigDecimal getExchangeRate(Currency from, Currency to) {
+            var call = calls.incrementAndGet();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (shouldFail.test(call)) {
+                throw HttpServerErrorException.create(HttpStatusCode.valueOf(503), "Service unavailable", null, null, null);
+            }
+            return RATE;
+        }
+    }
+}
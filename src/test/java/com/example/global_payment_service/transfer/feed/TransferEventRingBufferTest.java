@@ -0,0 +1,81 @@
+package com.example.global_payment_service.transfer.feed;
+
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.TransferCompletedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransferEventRingBufferTest {
+
+    @Test
+    void shouldKeepTheMostRecentEventsAndReportOverwrittenOnes() {
+        // given
+        var ringBuffer = new TransferEventRingBuffer(3);
+        var events = IntStream.range(0, 6).mapToObj(i -> event()).toList();
+
+        // when
+        events.forEach(ringBuffer::publish);
+
+        // then
+        assertEquals(4, ringBuffer.capacity());
+        assertEquals(6, ringBuffer.nextSequence());
+        assertEquals(2, ringBuffer.oldestSequence());
+        assertSame(events.get(5), ringBuffer.read(5).event());
+        assertTrue(ringBuffer.read(0).sequence() > 0);
+        assertTrue(ringBuffer.read(6).sequence() < 6);
+    }
+
+    @Test
+    void shouldWakeUpReadersWhenAnEventIsPublished() throws Exception {
+        // given
+        var ringBuffer = new TransferEventRingBuffer(4);
+        int phase = ringBuffer.publishedPhase();
+
+        // when
+        boolean timedOut = !ringBuffer.awaitPublished(phase, 10, TimeUnit.MILLISECONDS);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var woken = executor.submit(() -> ringBuffer.awaitPublished(phase, 10, TimeUnit.SECONDS));
+            ringBuffer.publish(event());
+
+            // then
+            assertTrue(timedOut);
+            assertTrue(woken.get());
+        }
+    }
+
+    @Test
+    void shouldNotLoseEventsPublishedConcurrently() {
+        // given
+        var ringBuffer = new TransferEventRingBuffer(1024);
+
+        // when
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 1000; i++) {
+                executor.submit(() -> ringBuffer.publish(event()));
+            }
+        }
+
+        // then
+        assertEquals(1000, ringBuffer.nextSequence());
+        for (long sequence = 0; sequence < 1000; sequence++) {
+            assertEquals(sequence, ringBuffer.read(sequence).sequence());
+        }
+        assertNull(ringBuffer.read(1000));
+    }
+
+    private static TransferCompletedEvent event() {
+        return new TransferCompletedEvent(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), Money.of(BigDecimal.ONE, Currency.EUR), Instant.now());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.global_payment_service.transfer.feed;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.TransferService;
+import com.example.global_payment_service.transfer.exception.InsufficientFundsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class TransferFeedServiceTest {
+
+    @Autowired
+    private TransferFeedService feedService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void shouldPublishOnlyCommittedTransfers() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        var ringBuffer = feedService.ringBuffer();
+        var sequence = ringBuffer.nextSequence();
+
+        // when
+        assertThrows(InsufficientFundsException.class, () ->
+                transferService.transfer(sender.getId(), recipient.getId(), Money.of(new BigDecimal(101), Currency.EUR)));
+        transferService.transfer(sender.getId(), recipient.getId(), Money.of(new BigDecimal(75), Currency.EUR));
+
+        // then
+        assertEquals(sequence + 1, ringBuffer.nextSequence());
+        var event = ringBuffer.read(sequence).event();
+        assertEquals(sender.getId(), event.senderId());
+        assertEquals(recipient.getId(), event.recipientId());
+        assertEquals(Money.of(new BigDecimal(75), Currency.EUR), event.amount());
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.example.global_payment_service.transfer.idempotency;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.TransferOrchestratorService;
+import com.example.global_payment_service.transfer.TransferStatus;
+import com.example.global_payment_service.transfer.api.TransferRequestDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "transfer.idempotency.retention=1ms",
+        "transfer.idempotency.purge-interval=1h",
+        "transfer.idempotency.purge-batch-size=2"
+})
+class IdempotencyPurgeJobTest {
+
+    @Autowired
+    private IdempotencyPurgeJob purgeJob;
+
+    @Autowired
+    private IdempotencyRepository idempotencyRepository;
+
+    @Autowired
+    private TransferOrchestratorService orchestratorService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Test
+    void shouldPurgeExpiredKeysInBatches() throws InterruptedException {
+        // given
+        var idempotencies = idempotencyRepository.saveAll(IntStream.range(0, 5)
+                .mapToObj(i -> new Idempotency(UUID.randomUUID(), TransferStatus.COMPLETED))
+                .toList());
+        Thread.sleep(10);
+
+        // when
+        var purged = purgeJob.purge();
+
+        // then
+        assertTrue(purged >= idempotencies.size());
+        idempotencies.forEach(idempotency -> assertTrue(idempotencyRepository.findById(idempotency.getId()).isEmpty()));
+    }
+
+    @Test
+    void shouldRetryExpiredFailedKey() throws InterruptedException {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        var idempotencyKey = UUID.randomUUID();
+        idempotencyRepository.save(new Idempotency(idempotencyKey, TransferStatus.FAILED));
+        Thread.sleep(10);
+
+        // when
+        var status = orchestratorService.handleTransferRequest(
+                idempotencyKey,
+                new TransferRequestDto(sender.getId(), recipient.getId(), new BigDecimal(75), Currency.EUR)
+        );
+
+        // then
+        assertEquals(TransferStatus.COMPLETED, status);
+        assertEquals(Optional.of(TransferStatus.COMPLETED),
+                idempotencyRepository.findByIdempotencyKey(idempotencyKey).map(Idempotency::getStatus));
+        assertEquals(Money.of(new BigDecimal(25), Currency.EUR), accountRepository.findById(sender.getId()).orElseThrow().getBalance());
+    }
+
+}
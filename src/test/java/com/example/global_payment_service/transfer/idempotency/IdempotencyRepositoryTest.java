@@ -11,6 +11,7 @@ import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 class IdempotencyRepositoryTest {
@@ -44,4 +45,17 @@ class IdempotencyRepositoryTest {
         assertThrows(DataIntegrityViolationException.class, when);
     }
 
-}
\ No newline at end of file
+    @Test
+    void shouldEstimateTheRowCountFromTheCatalog() {
+        // given
+        idempotencyRepository.saveAndFlush(new Idempotency(UUID.randomUUID(), TransferStatus.COMPLETED));
+
+        // when
+        var estimate = idempotencyRepository.estimateCount();
+
+        // then
+        assertTrue(estimate.isPresent());
+        assertTrue(estimate.get() >= 0);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.example.global_payment_service.transfer.idempotency;
+
+import com.example.global_payment_service.transfer.TransferStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyStatusCacheTest {
+
+    private final IdempotencyStatusCache cache = new IdempotencyStatusCache(
+            new IdempotencyCacheProperties(true, 100, Duration.ofMinutes(1)));
+
+    @Test
+    void shouldReportKeysInFlightAsProcessing() {
+        // given
+        var idempotencyKey = UUID.randomUUID();
+
+        // when
+        var marked = cache.markInFlight(idempotencyKey);
+
+        // then
+        assertTrue(marked);
+        assertFalse(cache.markInFlight(idempotencyKey));
+        assertEquals(Optional.of(TransferStatus.PROCESSING), cache.lookup(idempotencyKey));
+    }
+
+    @Test
+    void shouldOnlyRememberTerminalStatuses() {
+        // given
+        var completedKey = UUID.randomUUID();
+        var badRequestKey = UUID.randomUUID();
+        var failedKey = UUID.randomUUID();
+        for (var key : new UUID[]{completedKey, badRequestKey, failedKey}) cache.markInFlight(key);
+
+        // when
+        cache.record(completedKey, TransferStatus.COMPLETED);
+        cache.record(badRequestKey, TransferStatus.BAD_REQUEST);
+        cache.record(failedKey, TransferStatus.FAILED);
+        for (var key : new UUID[]{completedKey, badRequestKey, failedKey}) cache.release(key);
+
+        // then
+        assertEquals(Optional.of(TransferStatus.COMPLETED), cache.lookup(completedKey));
+        assertEquals(Optional.of(TransferStatus.BAD_REQUEST), cache.lookup(badRequestKey));
+        assertEquals(Optional.empty(), cache.lookup(failedKey));
+        assertTrue(cache.markInFlight(failedKey));
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.example.global_payment_service.transfer.ledger;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.TransferEngine;
+import com.example.global_payment_service.transfer.exception.InsufficientFundsException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "transfer.engine=ledger",
+        "transfer.ledger.transaction-timeout=1s",
+        "transfer.ledger.safety-lag=1100ms",
+        "transfer.ledger.snapshot-interval=1h",
+        "transfer.commit.clock-skew=0s"
+})
+class LedgerTransferEngineTest {
+
+    @Autowired
+    private TransferEngine transferEngine;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerBalances ledgerBalances;
+
+    @Autowired
+    private LedgerSnapshotter snapshotter;
+
+    @Autowired
+    private BalanceSnapshotRepository snapshotRepository;
+
+    @Autowired
+    private LedgerWatermarkRepository watermarkRepository;
+
+    @Test
+    void shouldBeSelectedByProperty() {
+        assertInstanceOf(LedgerTransferEngine.class, transferEngine);
+    }
+
+    @Test
+    void shouldNotServeStoredBalances() {
+        assertFalse(transferEngine.storesBalances());
+    }
+
+    @Test
+    void shouldAppendEntriesWithoutUpdatingAccounts() {
+        // given
+        var from = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var to = accountRepository.save(new Account(BigDecimal.ZERO, Currency.EUR));
+
+        // when
+        transferEngine.transfer(from.getId(), to.getId(), Money.of(new BigDecimal(30), Currency.EUR));
+
+        // then
+        assertEquals(Money.of(new BigDecimal(70), Currency.EUR), balanceOf(from.getId()));
+        assertEquals(Money.of(new BigDecimal(30), Currency.EUR), balanceOf(to.getId()));
+        var storedSender = accountRepository.findById(from.getId()).orElseThrow();
+        assertEquals(from.getVersion(), storedSender.getVersion());
+        assertEquals(Money.of(new BigDecimal(100), Currency.EUR), storedSender.getBalance());
+    }
+
+    @Test
+    void shouldRejectTransferExceedingDerivedBalance() {
+        // given
+        var from = accountRepository.save(new Account(new BigDecimal(10), Currency.EUR)).getId();
+        var to = accountRepository.save(new Account(new BigDecimal(10), Currency.EUR)).getId();
+        transferEngine.transfer(from, to, Money.of(new BigDecimal(7), Currency.EUR));
+
+        // when
+        Executable when = () -> transferEngine.transfer(from, to, Money.of(new BigDecimal(7), Currency.EUR));
+
+        // then
+        assertThrows(InsufficientFundsException.class, when);
+        assertEquals(Money.of(new BigDecimal(3), Currency.EUR), balanceOf(from));
+    }
+
+    @Test
+    void shouldKeepBalancesWhenSnapshotting() throws InterruptedException {
+        // given
+        var recipient = accountRepository.save(new Account(BigDecimal.ZERO, Currency.EUR)).getId();
+        var senders = new ArrayList<UUID>();
+        for (int i = 0; i < 20; i++) {
+            senders.add(accountRepository.save(new Account(new BigDecimal(10), Currency.EUR)).getId());
+        }
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var sender : senders) {
+                executor.submit(() -> transferEngine.transfer(sender, recipient, Money.of(new BigDecimal(5), Currency.EUR)));
+            }
+        }
+        Thread.sleep(1200);
+
+        // when
+        snapshotter.snapshot();
+        transferEngine.transfer(senders.getFirst(), recipient, Money.of(BigDecimal.ONE, Currency.EUR));
+
+        // then
+        var snapshot = snapshotRepository.findById(recipient).orElseThrow();
+        assertEquals(Money.of(new BigDecimal(100), Currency.EUR), snapshot.getBalance());
+        assertEquals(Money.of(new BigDecimal(101), Currency.EUR), balanceOf(recipient));
+        assertEquals(Money.of(new BigDecimal(4), Currency.EUR), balanceOf(senders.getFirst()));
+        assertTrue(watermarkRepository.findById(LedgerWatermark.ID).isPresent());
+    }
+
+    private Money balanceOf(UUID accountId) {
+        return ledgerBalances.balanceOf(accountRepository.findById(accountId).orElseThrow());
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.global_payment_service.transfer.monitor;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.persistence.TimeOrderedUuids;
+import com.example.global_payment_service.transfer.Transfer;
+import com.example.global_payment_service.transfer.TransferCommitProperties;
+import com.example.global_payment_service.transfer.TransferRepository;
+import com.example.global_payment_service.transfer.monitor.api.TransferViewDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SuccessfulTransferKeysetPaginationTest {
+
+    @Autowired
+    private SuccessfulTransferMonitorService monitorService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private TransferViewRepository transferViewRepository;
+
+    @Test
+    void shouldVisitEveryTransferExactlyOnceInIdOrder() throws InterruptedException {
+        // given
+        var monitorService = quicklySettlingMonitorService();
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        var saved = transferRepository.saveAll(IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> new Transfer(sender, recipient, Money.of(BigDecimal.valueOf(i), Currency.EUR)))
+                .toList());
+        Thread.sleep(10);
+
+        // when
+        var visited = new ArrayList<TransferViewDto>();
+        TransferCursor cursor = null;
+        do {
+            var page = monitorService.getSuccessfulTransfers(cursor, 3);
+            assertTrue(page.items().size() <= 3);
+            visited.addAll(page.items());
+            cursor = page.nextCursor() == null ? null : TransferCursor.decode(page.nextCursor());
+        } while (cursor != null);
+
+        // then
+        var ids = new HashSet<>();
+        for (int i = 0; i < visited.size(); i++) {
+            assertTrue(ids.add(visited.get(i).id()));
+            if (i > 0) assertTrue(compareUnsigned(visited.get(i - 1).id(), visited.get(i).id()) < 0);
+        }
+        assertEquals(transferRepository.count(), visited.size());
+        saved.forEach(transfer -> assertTrue(ids.contains(transfer.getId())));
+
+        var ours = visited.stream().filter(view -> view.senderId().equals(sender.getId())).toList();
+        assertEquals(5, ours.size());
+        assertEquals(recipient.getId(), ours.getFirst().recipientId());
+        assertEquals(saved.stream().map(Transfer::getId).toList(), ours.stream().map(TransferViewDto::id).toList());
+    }
+
+    @Test
+    void shouldNotReturnTransfersThatMayStillBeCommittedOutOfOrder() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        var transfer = transferRepository.save(new Transfer(sender, recipient, Money.of(BigDecimal.ONE, Currency.EUR)));
+
+        var justBefore = new TransferCursor(TimeOrderedUuids.lowest(TimeOrderedUuids.timestampOf(transfer.getId())));
+
+        // when
+        var page = monitorService.getSuccessfulTransfers(justBefore, 1000);
+
+        // then
+        assertTrue(page.items().stream().noneMatch(view -> view.id().equals(transfer.getId())));
+    }
+
+    @Test
+    void shouldRoundTripCursorsAndRejectMalformedOnes() {
+        // given
+        var view = new TransferViewDto(UUID.randomUUID(), null, null, BigDecimal.ONE, Currency.EUR, Instant.now());
+
+        // when
+        var cursor = TransferCursor.of(view);
+
+        // then
+        assertEquals(cursor, TransferCursor.decode(cursor.encode()));
+        assertThrows(IllegalArgumentException.class, () -> TransferCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> TransferCursor.decode("AAAA"));
+    }
+
+    /**
+     * A monitor service that treats transfers as settled a millisecond after they were created.
+     */
+    private SuccessfulTransferMonitorService quicklySettlingMonitorService() {
+        return new SuccessfulTransferMonitorService(transferRepository, transferViewRepository,
+                new TransferCommitProperties(Duration.ofMillis(1), Duration.ZERO));
+    }
+
+    private static int compareUnsigned(UUID a, UUID b) {
+        var high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
@@ -2,6 +2,7 @@ package com.example.global_payment_service.transfer.monitor;
 
 import com.example.global_payment_service.account.Account;
 import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
 import com.example.global_payment_service.transfer.Transfer;
 import com.example.global_payment_service.transfer.TransferRepository;
 import org.junit.jupiter.api.Test;
@@ -35,8 +36,7 @@ class SuccessfulTransferMonitorServiceTest {
                 UUID.randomUUID(),
                 new Account(BigDecimal.TWO, Currency.EUR),
                 new Account(BigDecimal.ONE, Currency.EUR),
-                BigDecimal.ONE,
-                Currency.HUF);
+                Money.of(BigDecimal.ONE, Currency.HUF));
         when(mockTransferRepository.findAll(pageRequest)).thenReturn(new PageImpl<>(List.of(transferToReturn)));
 
         // when
@@ -46,7 +46,7 @@ class SuccessfulTransferMonitorServiceTest {
         var content = page.get().toList();
         assertEquals(1, content.size());
         var transfer = content.getFirst();
-        assertEquals(BigDecimal.ONE, transfer.amount());
+        assertEquals(0, BigDecimal.ONE.compareTo(transfer.amount()));
         assertEquals(Currency.HUF, transfer.currency());
         assertEquals(transferToReturn.getSender().getId(), transfer.senderId());
         assertEquals(transferToReturn.getRecipient().getId(), transfer.recipientId());
@@ -0,0 +1,132 @@
+package com.example.global_payment_service.transfer.monitor;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.Transfer;
+import com.example.global_payment_service.transfer.TransferCommitProperties;
+import com.example.global_payment_service.transfer.TransferRepository;
+import com.example.global_payment_service.transfer.monitor.api.TransferViewDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransferExportServiceTest {
+
+    @Autowired
+    private TransferExportService exportService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransferViewRepository transferViewRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldExportTransfersOfTheTimeRangeAsNdjson() throws Exception {
+        // given
+        var since = Instant.now().minus(1, ChronoUnit.MILLIS);
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        transferRepository.saveAll(IntStream.rangeClosed(1, 3)
+                .mapToObj(i -> new Transfer(sender, recipient, Money.of(BigDecimal.valueOf(i), Currency.EUR)))
+                .toList());
+        var out = new ByteArrayOutputStream();
+        Thread.sleep(10);
+
+        // when
+        quicklySettlingExportService().export(since, null, TransferExportFormat.NDJSON, out);
+
+        // then
+        var lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        var ours = lines.stream()
+                .map(this::readView)
+                .filter(view -> view.senderId().equals(sender.getId()))
+                .toList();
+        assertEquals(3, ours.size());
+        ours.forEach(view -> assertEquals(recipient.getId(), view.recipientId()));
+        ours.forEach(view -> assertFalse(view.createdAt().isBefore(since)));
+    }
+
+    @Test
+    void shouldExportTransfersAsCsvWithHeader() throws Exception {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        var transfer = transferRepository.save(new Transfer(sender, recipient, Money.of(new BigDecimal("12.5"), Currency.EUR)));
+        var out = new ByteArrayOutputStream();
+        Thread.sleep(10);
+
+        // when
+        quicklySettlingExportService().export(null, null, TransferExportFormat.CSV, out);
+
+        // then
+        var lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("id,senderId,recipientId,amount,currency,createdAt", lines.getFirst());
+        var row = lines.stream().filter(line -> line.startsWith(transfer.getId().toString())).findFirst().orElseThrow();
+        var columns = row.split(",");
+        assertEquals(sender.getId().toString(), columns[1]);
+        assertEquals(recipient.getId().toString(), columns[2]);
+        assertEquals(0, new BigDecimal("12.5").compareTo(new BigDecimal(columns[3])));
+        assertEquals("EUR", columns[4]);
+    }
+
+    @Test
+    void shouldNotExportTransfersThatMayStillBeCommittedOutOfOrder() {
+        // given
+        var since = Instant.now().minus(1, ChronoUnit.MILLIS);
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        var transfer = transferRepository.save(new Transfer(sender, recipient, Money.of(BigDecimal.ONE, Currency.EUR)));
+        var out = new ByteArrayOutputStream();
+
+        // when
+        exportService.export(since, Instant.now().plus(1, ChronoUnit.HOURS), TransferExportFormat.CSV, out);
+
+        // then
+        var lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertTrue(lines.stream().noneMatch(line -> line.startsWith(transfer.getId().toString())));
+    }
+
+    /**
+     * An export service that treats transfers as settled a millisecond after they were created.
+     */
+    private TransferExportService quicklySettlingExportService() {
+        return new TransferExportService(transferViewRepository, transactionManager, objectMapper,
+                new TransferCommitProperties(Duration.ofMillis(1), Duration.ZERO));
+    }
+
+    private TransferViewDto readView(String line) {
+        try {
+            return objectMapper.readValue(line, TransferViewDto.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
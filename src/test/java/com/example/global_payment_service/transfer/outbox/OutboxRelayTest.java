@@ -0,0 +1,96 @@
+package com.example.global_payment_service.transfer.outbox;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.TransferService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "outbox.relay-enabled=false")
+class OutboxRelayTest {
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private OutboxProperties properties;
+
+    @Test
+    void shouldKeepEventsUntilTheSinkAcceptsThem() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        transferService.transfer(sender.getId(), recipient.getId(), Money.of(new BigDecimal(75), Currency.EUR));
+
+        var failingRelay = new OutboxRelay(outboxEventRepository, events -> {
+            throw new IllegalStateException("Sink unavailable");
+        }, transactionTemplate, properties);
+        var sink = new InMemoryOutboxEventSink(100);
+        var relay = new OutboxRelay(outboxEventRepository, sink, transactionTemplate, properties);
+
+        // when
+        assertThrows(IllegalStateException.class, failingRelay::relayBatch);
+        var pendingAfterFailure = outboxEventRepository.count();
+        relay.relayBatch();
+
+        // then
+        assertTrue(pendingAfterFailure > 0);
+        assertEquals(0, outboxEventRepository.count());
+        assertTrue(sink.getEvents().stream()
+                .anyMatch(event -> TransferOutboxWriter.TRANSFER_COMPLETED.equals(event.getType())
+                        && event.getPayload().contains(sender.getId().toString())
+                        && event.getPayload().contains(recipient.getId().toString())));
+    }
+
+    @Test
+    void shouldPublishOutsideTheClaimingTransactionWhileHoldingALease() {
+        // given
+        var sender = accountRepository.save(new Account(new BigDecimal(100), Currency.EUR));
+        var recipient = accountRepository.save(new Account(new BigDecimal(50), Currency.EUR));
+        transferService.transfer(sender.getId(), recipient.getId(), Money.of(new BigDecimal(75), Currency.EUR));
+
+        var otherSink = new InMemoryOutboxEventSink(100);
+        var otherRelay = new OutboxRelay(outboxEventRepository, otherSink, transactionTemplate, properties);
+        var published = new ArrayList<OutboxEvent>();
+        var inTransaction = new AtomicBoolean(true);
+        var relay = new OutboxRelay(outboxEventRepository, events -> {
+            inTransaction.set(TransactionSynchronizationManager.isActualTransactionActive());
+            otherRelay.relayBatch();
+            published.addAll(events);
+        }, transactionTemplate, properties);
+
+        // when
+        relay.relayBatch();
+
+        // then
+        assertFalse(inTransaction.get());
+        assertFalse(published.isEmpty());
+        var publishedIds = published.stream().map(OutboxEvent::getId).collect(Collectors.toSet());
+        assertTrue(otherSink.getEvents().stream().noneMatch(event -> publishedIds.contains(event.getId())));
+        assertTrue(outboxEventRepository.findAllById(publishedIds).isEmpty());
+    }
+}
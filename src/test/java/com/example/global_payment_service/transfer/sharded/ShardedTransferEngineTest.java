@@ -0,0 +1,95 @@
+package com.example.global_payment_service.transfer.sharded;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.TransferEngine;
+import com.example.global_payment_service.transfer.TransferRepository;
+import com.example.global_payment_service.transfer.exception.InsufficientFundsException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(properties = {"transfer.engine=sharded", "transfer.sharded.shards=4"})
+class ShardedTransferEngineTest {
+
+    @Autowired
+    private TransferEngine transferEngine;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Test
+    void shouldBeSelectedByProperty() {
+        assertInstanceOf(ShardedTransferEngine.class, transferEngine);
+    }
+
+    @Test
+    void shouldNotServeStoredBalances() {
+        assertFalse(transferEngine.storesBalances());
+    }
+
+    @Test
+    void shouldPersistConcurrentTransfersAcrossShards() {
+        // given
+        var accountIds = new ArrayList<UUID>();
+        for (int i = 0; i < 16; i++) {
+            accountIds.add(accountRepository.save(new Account(new BigDecimal(100), Currency.EUR)).getId());
+        }
+        var transfersBefore = transferRepository.count();
+
+        // when
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 400; i++) {
+                executor.submit(() -> {
+                    var random = ThreadLocalRandom.current();
+                    var from = accountIds.get(random.nextInt(accountIds.size()));
+                    var to = accountIds.get(random.nextInt(accountIds.size()));
+                    transferEngine.transfer(from, to, Money.of(BigDecimal.ONE, Currency.EUR));
+                });
+            }
+        }
+
+        // then
+        assertEquals(transfersBefore + 400, transferRepository.count());
+        assertEquals(0, new BigDecimal(1600).compareTo(totalBalance(accountIds)));
+    }
+
+    @Test
+    void shouldRejectTransferExceedingInMemoryBalance() {
+        // given
+        var from = accountRepository.save(new Account(new BigDecimal(10), Currency.EUR)).getId();
+        var to = accountRepository.save(new Account(new BigDecimal(10), Currency.EUR)).getId();
+        transferEngine.transfer(from, to, Money.of(new BigDecimal(7), Currency.EUR));
+
+        // when
+        Executable when = () -> transferEngine.transfer(from, to, Money.of(new BigDecimal(7), Currency.EUR));
+
+        // then
+        assertThrows(InsufficientFundsException.class, when);
+        assertEquals(0, new BigDecimal(20).compareTo(totalBalance(List.of(from, to))));
+    }
+
+    private BigDecimal totalBalance(List<UUID> accountIds) {
+        return accountRepository.findAllById(accountIds).stream()
+                .map(account -> account.getBalance().toBigDecimal())
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.global_payment_service.transfer.stats;
+
+import com.example.global_payment_service.account.Account;
+import com.example.global_payment_service.account.AccountRepository;
+import com.example.global_payment_service.account.Currency;
+import com.example.global_payment_service.account.Money;
+import com.example.global_payment_service.transfer.TransferService;
+import com.example.global_payment_service.transfer.monitor.TransferViewRepository;
+import com.example.global_payment_service.transfer.stats.api.AccountTurnoverDto;
+import com.example.global_payment_service.transfer.stats.api.CurrencyStatsDto;
+import com.example.global_payment_service.transfer.stats.api.WindowStatsDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TransferStatisticsTest {
+
+    private static final BigDecimal LARGE_AMOUNT = new BigDecimal(1_000_000_000);
+
+    @Autowired
+    private TransferStatistics transferStatistics;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferViewRepository transferViewRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void shouldCountCommittedTransfersInEveryWindow() {
+        // given
+        var sender = accountRepository.save(new Account(LARGE_AMOUNT, Currency.USD)).getId();
+        var recipient = accountRepository.save(new Account(BigDecimal.ZERO, Currency.USD)).getId();
+
+        // when
+        transferService.transfer(sender, recipient, Money.of(LARGE_AMOUNT, Currency.USD));
+
+        // then
+        var stats = transferStatistics.snapshot();
+        assertTrue(stats.recovered());
+        assertTrue(stats.instanceLocalSince().isBefore(stats.generatedAt()));
+        assertEquals(StatsWindow.values().length, stats.windows().size());
+        for (var window : stats.windows()) {
+            var usd = currency(window, Currency.USD);
+            assertTrue(usd.count() >= 1);
+            assertTrue(usd.volume().compareTo(LARGE_AMOUNT) >= 0);
+            assertTrue(turnoverOf(usd, sender).compareTo(LARGE_AMOUNT) >= 0);
+            assertTrue(turnoverOf(usd, recipient).compareTo(LARGE_AMOUNT) >= 0);
+        }
+    }
+
+    @Test
+    void shouldRebuildTheWindowsFromTheDatabase() {
+        // given
+        var sender = accountRepository.save(new Account(LARGE_AMOUNT, Currency.HUF)).getId();
+        var recipient = accountRepository.save(new Account(BigDecimal.ZERO, Currency.HUF)).getId();
+        transferService.transfer(sender, recipient, Money.of(LARGE_AMOUNT, Currency.HUF));
+        var restarted = new TransferStatistics(
+                new TransferStatsProperties(10, 64, true), transferViewRepository, transactionManager);
+
+        // when
+        restarted.recover();
+
+        // then
+        var stats = restarted.snapshot();
+        assertTrue(stats.recovered());
+        for (var window : stats.windows()) {
+            var huf = currency(window, Currency.HUF);
+            assertTrue(huf.count() >= 1);
+            assertTrue(turnoverOf(huf, recipient).compareTo(LARGE_AMOUNT) >= 0);
+        }
+    }
+
+    private static CurrencyStatsDto currency(WindowStatsDto window, Currency currency) {
+        return window.currencies().stream()
+                .filter(stats -> stats.currency() == currency)
+                .findFirst().orElseThrow();
+    }
+
+    private static BigDecimal turnoverOf(CurrencyStatsDto stats, UUID accountId) {
+        return stats.topAccounts().stream()
+                .filter(account -> account.accountId().equals(accountId))
+                .map(AccountTurnoverDto::turnover)
+                .findFirst().orElse(BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.global_payment_service.transfer.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WindowRingTest {
+
+    private static final long SECOND = 1000;
+
+    @Test
+    void shouldOnlyReportTransfersInsideTheWindow() {
+        // given
+        var ring = new WindowRing(StatsWindow.ONE_MINUTE, 8);
+        var now = 1_000_000 * SECOND;
+
+        // when
+        ring.record(now - 70 * SECOND, 500, UUID.randomUUID(), UUID.randomUUID());
+        ring.record(now - 30 * SECOND, 100, UUID.randomUUID(), UUID.randomUUID());
+        ring.record(now, 200, UUID.randomUUID(), UUID.randomUUID());
+
+        // then
+        var snapshot = ring.snapshot(now, 10);
+        assertEquals(2, snapshot.count());
+        assertEquals(300, snapshot.volume());
+        assertEquals(0, ring.snapshot(now + 61 * SECOND, 10).count());
+    }
+
+    @Test
+    void shouldDropTransfersOlderThanTheBucketReusingTheirSlot() {
+        // given
+        var ring = new WindowRing(StatsWindow.ONE_MINUTE, 8);
+        var now = 1_000_000 * SECOND;
+        ring.record(now, 100, UUID.randomUUID(), UUID.randomUUID());
+
+        // when
+        ring.record(now - 60 * SECOND, 100, UUID.randomUUID(), UUID.randomUUID());
+
+        // then
+        assertEquals(1, ring.snapshot(now, 10).count());
+    }
+
+    @Test
+    void shouldCountConcurrentTransfersExactly() {
+        // given
+        var ring = new WindowRing(StatsWindow.ONE_HOUR, 8);
+        var now = 1_000_000 * SECOND;
+
+        // when
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            IntStream.range(0, 10_000).forEach(i -> executor.submit(() ->
+                    ring.record(now - (i % 60) * SECOND, 3, UUID.randomUUID(), UUID.randomUUID())));
+        }
+
+        // then
+        var snapshot = ring.snapshot(now, 10);
+        assertEquals(10_000, snapshot.count());
+        assertEquals(30_000, snapshot.volume());
+    }
+
+    @Test
+    void shouldFindTheAccountsWithTheHighestTurnover() {
+        // given
+        var ring = new WindowRing(StatsWindow.ONE_MINUTE, 8);
+        var now = 1_000_000 * SECOND;
+        var hot = UUID.randomUUID();
+        var warm = UUID.randomUUID();
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            ring.record(now - (i % 60) * SECOND, 1, UUID.randomUUID(), UUID.randomUUID());
+            if (i % 4 == 0) ring.record(now - (i % 60) * SECOND, 10, UUID.randomUUID(), hot);
+            if (i % 10 == 0) ring.record(now - (i % 60) * SECOND, 10, warm, UUID.randomUUID());
+        }
+
+        // then
+        var top = ring.snapshot(now, 2).topAccounts();
+        assertEquals(hot, top.get(0).key());
+        assertEquals(warm, top.get(1).key());
+        assertTrue(top.get(0).weight() >= 2500);
+        assertTrue(top.get(1).weight() >= 1000);
+    }
+}